@@ -0,0 +1,28 @@
+package Benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the JMH benchmarks of the project (requires JMH on the class path, with its annotation processor).
+ * Every benchmark reports its operations per time unit, and the GC profiler adds
+ * the allocation rate (gc.alloc.rate.norm - bytes per operation)
+ */
+public final class BenchmarkRunner {
+
+    /**
+     * @param args optional regular expression of the benchmarks to run
+     *             (e.g. "GeometriesBenchmark" or "PrimitivesBenchmark.vector.*"), all of them by default
+     * @throws RunnerException in case of a benchmark failure
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(args.length > 0 ? args[0] : "Benchmarks\\..*")
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
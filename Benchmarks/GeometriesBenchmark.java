@@ -0,0 +1,78 @@
+package Benchmarks;
+
+import geometries.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import primitives.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of a whole collection of shapes - random small spheres in a cube,
+ * traced with and without the bounding volume hierarchy
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeometriesBenchmark {
+    static final int RAYS = 256;
+    static final double CUBE = 100;
+
+    @Param({"10", "1000", "100000"})
+    public int shapes;
+
+    // NONE - flat list, otherwise the construction strategy of the hierarchy
+    @Param({"NONE", "MEDIAN", "SAH"})
+    public String bvh;
+
+    private Geometries geometries;
+    private Ray[] rays;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        // the spheres fill about the same part of the cube for every amount of shapes
+        double radius = CUBE / (2 * Math.cbrt(shapes));
+        geometries = new Geometries();
+        for (int i = 0; i < shapes; ++i)
+            geometries.add(new Sphere(radius, randomPoint(random)));
+        if (!bvh.equals("NONE"))
+            geometries.buildBVH(Geometries.BVHMode.valueOf(bvh));
+
+        // rays from outside of the cube through random points inside of it
+        rays = new Ray[RAYS];
+        Point3D eye = new Point3D(-CUBE, -CUBE, -CUBE);
+        for (int i = 0; i < RAYS; ++i)
+            rays[i] = new Ray(eye, randomPoint(random).subtract(eye));
+    }
+
+    /**
+     * @param random random generator
+     * @return random point in the cube [0, CUBE]^3
+     */
+    private static Point3D randomPoint(Random random) {
+        return new Point3D(CUBE * random.nextDouble(), CUBE * random.nextDouble(), CUBE * random.nextDouble());
+    }
+
+    @Benchmark
+    public void findIntersections(Blackhole blackhole) {
+        for (Ray ray : rays)
+            blackhole.consume(geometries.findIntersections(ray));
+    }
+
+    @Benchmark
+    public void findClosestIntersection(Blackhole blackhole) {
+        for (Ray ray : rays)
+            blackhole.consume(geometries.findClosestIntersection(ray));
+    }
+
+    @Benchmark
+    public void findTransparency(Blackhole blackhole) {
+        for (Ray ray : rays)
+            blackhole.consume(geometries.findTransparency(ray, 2 * CUBE, 1, 0.001));
+    }
+}
@@ -0,0 +1,97 @@
+package Benchmarks;
+
+import geometries.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import primitives.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the ray-shape intersections of every kind of shape.
+ * Each operation intersects the shape with a batch of rays, about half of them hit it
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IntersectionsBenchmark {
+    static final int RAYS = 1024;
+
+    private Ray[] rays;
+    private Sphere sphere;
+    private Plane plane;
+    private Polygon polygon;
+    private Triangle triangle;
+    private Polygon triangularPolygon; // the same triangle through the general polygon intersection
+    private Tube tube;
+    private Cylinder cylinder;
+
+    @Setup
+    public void setup() {
+        // rays from around (0, 0, -50) towards random points of the square [-2,2]x[-2,2] on the XY plane
+        Random random = new Random(42);
+        rays = new Ray[RAYS];
+        for (int i = 0; i < RAYS; ++i) {
+            Point3D start = new Point3D(random.nextDouble() - 0.5, random.nextDouble() - 0.5, -50);
+            Point3D target = new Point3D(4 * random.nextDouble() - 2, 4 * random.nextDouble() - 2, 0);
+            rays[i] = new Ray(start, target.subtract(start));
+        }
+        sphere = new Sphere(1.5, Point3D.ZERO);
+        plane = new Plane(Point3D.ZERO, new Vector(1, 1, 3));
+        polygon = new Polygon(new Point3D(-1.5, -1.5, 0), new Point3D(1.5, -1.5, 0),
+                new Point3D(1.5, 1.5, 0), new Point3D(-1.5, 1.5, 0));
+        triangle = new Triangle(new Point3D(-2, -2, 0), new Point3D(2, -2, 0), new Point3D(0, 2, 0));
+        triangularPolygon = new Polygon(new Point3D(-2, -2, 0), new Point3D(2, -2, 0), new Point3D(0, 2, 0));
+        tube = new Tube(1, new Ray(Point3D.ZERO, new Vector(1, 0, 0)));
+        cylinder = new Cylinder(new Ray(new Point3D(-1.5, 0, 0), new Vector(1, 0, 0)), 1, 3);
+    }
+
+    /**
+     * Intersects all the rays with a shape
+     * @param shape the shape
+     * @param blackhole consumes the results
+     */
+    private void intersect(Intersectable shape, Blackhole blackhole) {
+        for (Ray ray : rays)
+            blackhole.consume(shape.findIntersections(ray));
+    }
+
+    @Benchmark
+    public void sphere(Blackhole blackhole) {
+        intersect(sphere, blackhole);
+    }
+
+    @Benchmark
+    public void plane(Blackhole blackhole) {
+        intersect(plane, blackhole);
+    }
+
+    @Benchmark
+    public void polygon(Blackhole blackhole) {
+        intersect(polygon, blackhole);
+    }
+
+    @Benchmark
+    public void triangle(Blackhole blackhole) {
+        intersect(triangle, blackhole);
+    }
+
+    @Benchmark
+    public void triangularPolygon(Blackhole blackhole) {
+        intersect(triangularPolygon, blackhole);
+    }
+
+    @Benchmark
+    public void tube(Blackhole blackhole) {
+        intersect(tube, blackhole);
+    }
+
+    @Benchmark
+    public void cylinder(Blackhole blackhole) {
+        intersect(cylinder, blackhole);
+    }
+}
@@ -0,0 +1,88 @@
+package Benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import primitives.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the Vector and Point3D arithmetic - the building blocks of every
+ * intersection and shading calculation
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitivesBenchmark {
+    // not final - so the JIT can't fold the calculations into constants
+    private Vector v1 = new Vector(1, 2, 3);
+    private Vector v2 = new Vector(-4, 5, 0.5);
+    private Point3D p1 = new Point3D(1, -2, 7);
+    private Point3D p2 = new Point3D(3, 0.5, -1);
+
+    @Benchmark
+    public Vector vectorAdd() {
+        return v1.add(v2);
+    }
+
+    @Benchmark
+    public Vector vectorScale() {
+        return v1.scale(2.5);
+    }
+
+    @Benchmark
+    public double vectorDotProduct() {
+        return v1.dotProduct(v2);
+    }
+
+    @Benchmark
+    public Vector vectorCrossProduct() {
+        return v1.crossProduct(v2);
+    }
+
+    @Benchmark
+    public Vector vectorNormalized() {
+        return v1.normalized();
+    }
+
+    @Benchmark
+    public Vector pointSubtract() {
+        return p1.subtract(p2);
+    }
+
+    @Benchmark
+    public Point3D pointAdd() {
+        return p1.add(v1);
+    }
+
+    @Benchmark
+    public double pointDistance() {
+        return p1.distance(p2);
+    }
+
+    /**
+     * The specular reflection of Render.calcSpecular - a typical chain of temporary objects
+     */
+    @Benchmark
+    public Vector reflection() {
+        return v1.subtract(v2.scale(2 * v1.dotProduct(v2))).normalize();
+    }
+
+    /**
+     * The same reflection with the mutable scratch vector
+     */
+    @Benchmark
+    public double reflectionScratch(Scratch scratch) {
+        return scratch.vector.set(v1).subtractScaled(v2, 2 * v1.dotProduct(v2)).normalize().getX();
+    }
+
+    /**
+     * A scratch vector for each benchmark thread
+     */
+    @State(Scope.Thread)
+    public static class Scratch {
+        final Vec3 vector = new Vec3();
+    }
+}
@@ -0,0 +1,48 @@
+package Benchmarks;
+
+import Tests.AcceptnaceTest.FinalPictureTest;
+import org.openjdk.jmh.annotations.*;
+import renderer.ImageWriter;
+import renderer.Render;
+import scene.Scene;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End to end benchmark - rendering the scene of FinalPictureTest (without writing the file),
+ * with the soft shadows and the super sampling on and off, and with a growing amount of rendering
+ * threads to measure the scaling of the tile scheduler (run it on a machine with at least 8 cores)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MINUTES)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class RenderBenchmark {
+    @Param({"100"})
+    public int resolution;
+
+    @Param({"false", "true"})
+    public boolean softShadow;
+
+    @Param({"false", "true"})
+    public boolean superSampling;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private Scene scene;
+
+    @Setup
+    public void setup() {
+        scene = FinalPictureTest.buildFinalScene();
+    }
+
+    @Benchmark
+    public ImageWriter renderImage() {
+        ImageWriter imageWriter = new ImageWriter("benchmark", 200, 200, resolution, resolution);
+        new Render(imageWriter, scene, softShadow, superSampling).setMultithreading(threads).renderImage();
+        return imageWriter;
+    }
+}
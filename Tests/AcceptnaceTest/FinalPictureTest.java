@@ -13,10 +13,10 @@ import scene.Scene;
 public class FinalPictureTest {
 
     /**
-     * Builds the final scene to render
+     * Builds the final scene to render (also used by the render benchmarks)
      * @return The final scene
      */
-    private Scene buildFinalScene() {
+    public static Scene buildFinalScene() {
         double kds = 0.1;
         int nsh = 20;
         Scene scene = new Scene("Test scene");
@@ -0,0 +1,106 @@
+package Tests.IntegrationTests;
+
+import elements.*;
+import geometries.*;
+import primitives.*;
+import renderer.*;
+import scene.Scene;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class to check the writing of the image on a background thread
+ */
+public class BackgroundWritingTest {
+
+    /**
+     * Test method for {@link Render#close()}.
+     */
+    @Test
+    public void testClose() throws InterruptedException, ExecutionException {
+        Scene scene = buildScene();
+
+        // ============ Equivalence Partitions Tests ==============
+
+        // TC01: The pending writing is completed, and then the writing thread ends
+        Render render = new Render(new ImageWriter("background", 200, 200, 20, 20), scene)
+                .setCheckpointInterval(0.01);
+        render.renderImage();
+        Future<?> writing = render.writeToImageAsync();
+        render.close();
+        assertTrue("close returned before the writing was completed (TC01)", writing.isDone());
+        writing.get();
+        assertFalse("writing thread is alive after close (TC01)", writerThreadAlive());
+
+        // TC02: The render can write again after close - with a new thread, which is ended by the next close
+        render.writeToImageAsync().get();
+        render.close();
+        assertFalse("writing thread is alive after the second close (TC02)", writerThreadAlive());
+    }
+
+    /**
+     * Test method for {@link Render#writeToImageAsync()} - the next frame is rendered into the same
+     * image before the previous one is written
+     */
+    @Test
+    public void testWriteToImageAsync() throws IOException {
+        Scene scene = buildScene();
+        ImageWriter expected = new ImageWriter("background-expected", 200, 200, 20, 20).setFormat(ImageFormat.PPM);
+        new Render(expected, scene).renderImage();
+        expected.writeToImage();
+
+        // ============ Equivalence Partitions Tests ==============
+
+        // TC01: The file has the frame which was written, although the next frame was rendered before the writing
+        ImageWriter imageWriter = new ImageWriter("background-frame", 200, 200, 20, 20).setFormat(ImageFormat.PPM);
+        Render render = new Render(imageWriter, scene);
+        render.renderImage();
+        // writeToImage is synchronized on the image writer - holding it delays the writing after the next frame
+        synchronized (imageWriter) {
+            render.writeToImageAsync();
+            scene.setBackground(new Color(java.awt.Color.WHITE));
+            render.renderImage();
+        }
+        render.close();
+        Path dir = Path.of(System.getProperty("user.dir"));
+        assertArrayEquals("The next frame got into the written image (TC01)",
+                Files.readAllBytes(dir.resolve("background-expected.ppm")),
+                Files.readAllBytes(dir.resolve("background-frame.ppm")));
+    }
+
+    /**
+     * @return a sphere lit by a point light, on a black background
+     */
+    private Scene buildScene() {
+        Scene scene = new Scene("Background scene");
+        scene.setCamera(new Camera(new Point3D(0, 0, -1000), new Vector(0, 0, 1), new Vector(0, -1, 0)));
+        scene.setDistance(1000);
+        scene.setBackground(Color.BLACK);
+        scene.setAmbientLight(new AmbientLight(Color.BLACK, 0));
+        scene.addGeometries(new Sphere(50, new Point3D(0, 0, 50), new Color(java.awt.Color.BLUE)));
+        scene.addLights(new PointLight(new Color(400, 400, 400), new Point3D(100, 100, -100), 1, 1E-5, 1.5E-7));
+        return scene;
+    }
+
+    /**
+     * @return true if a thread of the background writing is still alive after a while
+     */
+    private boolean writerThreadAlive() throws InterruptedException {
+        for (int i = 0; i < 100; ++i) {
+            boolean alive = false;
+            for (Thread thread : Thread.getAllStackTraces().keySet())
+                alive |= thread.getName().equals("image-writer") && thread.isAlive();
+            if (!alive)
+                return false;
+            Thread.sleep(20);
+        }
+        return true;
+    }
+}
@@ -6,6 +6,7 @@ import org.junit.Test;
 import java.util.List;
 import java.util.ArrayList;
 import static org.junit.Assert.*;
+import static geometries.Intersectable.GeoPoint;
 
 /**
  * Test class to check if the findIntersection() method works correctly
@@ -113,4 +114,231 @@ public class GeometriesTest {
 
         //endregion
     }
-}
\ No newline at end of file
+
+    /**
+     * Test method for {@link Geometries#buildBVH()}.
+     */
+    @Test
+    public void testFindIntersectionsBVH() {
+        // ============ Equivalence Partitions Tests ==============
+
+        //region TC01: Grid of spheres on a plane - the hierarchy must find exactly what the list finds
+        Geometries flat = new Geometries();
+        Geometries bvh = new Geometries();
+        Geometries sah = new Geometries();
+        Plane floor = new Plane(new Point3D(0,0,-1), new Vector(0,0,1));
+        Triangle roof = new Triangle(new Point3D(-5,-5,3), new Point3D(25,-5,3), new Point3D(-5,25,3));
+        flat.add(floor, roof);
+        bvh.add(floor, roof);
+        sah.add(floor, roof);
+        for (int x = 0; x < 20; ++x)
+            for (int y = 0; y < 20; ++y) {
+                Sphere sphere = new Sphere(0.4, new Point3D(x, y, 0));
+                flat.add(sphere);
+                bvh.add(sphere);
+                sah.add(sphere);
+            }
+        bvh.buildBVH();
+        BVHStatistics statistics = sah.buildBVH(Geometries.BVHMode.SAH);
+
+        Ray[] rays = {
+                new Ray(new Point3D(-3,3.1,0), new Vector(1,0,0)),
+                new Ray(new Point3D(5,5,10), new Vector(0.1,0.2,-1)),
+                new Ray(new Point3D(-3,-3,5), new Vector(1,1,-0.2)),
+                new Ray(new Point3D(50,50,50), new Vector(1,1,1))
+        };
+        for (Ray ray : rays) {
+            List<GeoPoint> expected = flat.findIntersections(ray);
+            List<GeoPoint> result = bvh.findIntersections(ray);
+            assertEquals("BVH findIntersections() returned different amount of points (TC01)",
+                    expected == null ? 0 : expected.size(), result == null ? 0 : result.size());
+            if (expected != null)
+                assertEquals("BVH findIntersections() returned different closest point (TC01)",
+                        expected.get(0).point, result.get(0).point);
+            result = sah.findIntersections(ray);
+            assertEquals("SAH BVH findIntersections() returned different amount of points (TC01)",
+                    expected == null ? 0 : expected.size(), result == null ? 0 : result.size());
+        }
+        //endregion
+
+        //region TC02: SAH construction statistics - the plane is kept aside
+        assertEquals("Wrong amount of unbounded shapes in the statistics (TC02)", 1, statistics.getUnboundedShapes());
+        assertEquals("Wrong amount of bounded shapes in the statistics (TC02)", 401, statistics.getShapes());
+        assertTrue("Hierarchy must have nodes (TC02)", statistics.getNodes() > 0 && statistics.getDepth() > 0);
+        //endregion
+
+        // =============== Boundary Values Tests ==================
+
+        //region TC11: Only infinite shapes - everything stays in the side list
+        Geometries planes = new Geometries(floor);
+        planes.buildBVH();
+        assertEquals("BVH findIntersections() missed the unbounded plane (TC11)", 1,
+                planes.findIntersections(new Ray(new Point3D(1,1,1), new Vector(0,0,-1))).size());
+        //endregion
+    }
+
+    /**
+     * Test method for {@link Geometries#setBoundingBoxCheck(boolean)}.
+     */
+    @Test
+    public void testBoundingBoxCheck() {
+        Geometries geometries = new Geometries(
+                new Sphere(1, new Point3D(0,0,0)),
+                new Triangle(new Point3D(5,-1,-1), new Point3D(5,1,-1), new Point3D(5,0,1)),
+                new Plane(new Point3D(10,0,0), new Vector(1,0,0)));
+        geometries.setBoundingBoxCheck(true);
+
+        // ============ Equivalence Partitions Tests ==============
+
+        // TC01: Ray through all the shapes - the boxes don't hide any of them
+        assertEquals("Bounding box check dropped an intersection (TC01)", 4,
+                geometries.findIntersections(new Ray(new Point3D(-5,0,0), new Vector(1,0,0))).size());
+
+        // TC02: Ray misses the finite shapes but hits the plane
+        assertEquals("Bounding box check dropped the unbounded plane (TC02)", 1,
+                geometries.findIntersections(new Ray(new Point3D(-5,7,0), new Vector(1,0,0))).size());
+
+        // =============== Boundary Values Tests ==================
+
+        // TC11: Ray misses everything
+        assertNull("Bounding box check returned an intersection for a ray that misses (TC11)",
+                geometries.findIntersections(new Ray(new Point3D(-5,7,0), new Vector(-1,0,0))));
+
+        // TC12: A shape is added to a nested composite after the boxes of its parents were calculated
+        Geometries nested = new Geometries(new Sphere(1, new Point3D(0,0,0)));
+        Geometries middle = new Geometries(nested);
+        Geometries outer = new Geometries(middle);
+        outer.setBoundingBoxCheck(true);
+        middle.setBoundingBoxCheck(true);
+        Ray ray = new Ray(new Point3D(-5,7,0), new Vector(1,0,0));
+        assertNull("Ray hits the composite before the shape was added (TC12)", outer.findIntersections(ray));
+        nested.add(new Sphere(1, new Point3D(0,7,0)));
+        assertEquals("Shape added to a nested composite is hidden by the box of its parent (TC12)", 2,
+                outer.findIntersections(ray).size());
+        outer.buildBVH();
+        nested.add(new Sphere(1, new Point3D(0,-7,0)));
+        assertEquals("Shape added to a nested composite is hidden by the hierarchy of its parent (TC12)", 2,
+                outer.findIntersections(new Ray(new Point3D(-5,-7,0), new Vector(1,0,0))).size());
+    }
+
+    /**
+     * Test method for {@link Geometries#findClosestIntersection(Ray, double)}.
+     */
+    @Test
+    public void testFindClosestIntersection() {
+        Geometries geometries = new Geometries(
+                new Polygon(new Point3D(-6,2,0), new Point3D(-6,4,3), new Point3D(-6,6,3),
+                        new Point3D(-6,7,0), new Point3D(-6,5.5,-2)),
+                new Sphere(2.0, new Point3D(-3,5,2)),
+                new Cylinder(new Ray(new Point3D(4,5,0), new Vector(0,0,3)), 1.0, 3.0),
+                new Plane(new Point3D(2,2,0), new Point3D(2,0,2), new Point3D(2,-2,0)),
+                new Triangle(new Point3D(10,10,0), new Point3D(10,2,0), new Point3D(10,4,5)),
+                new Tube(3.0, new Ray(new Point3D(18,5,0), new Vector(0,0,10))));
+        Ray ray = new Ray(new Point3D(-14,5,2), new Vector(2,0,0));
+        Ray backwards = new Ray(new Point3D(30,5,2), new Vector(-1,0,0));
+
+        // ============ Equivalence Partitions Tests ==============
+
+        // TC01: The closest point is the first point of the sorted list
+        assertEquals("findClosestIntersection() returned wrong point (TC01)",
+                geometries.findIntersections(ray).get(0).point, geometries.findClosestIntersection(ray).point);
+        assertEquals("findClosestIntersection() returned wrong point (TC01)",
+                geometries.findIntersections(backwards).get(0).point,
+                geometries.findClosestIntersection(backwards).point);
+
+        // TC02: Same result with the hierarchy
+        geometries.buildBVH();
+        assertEquals("findClosestIntersection() with BVH returned wrong point (TC02)",
+                new Point3D(-6,5,2), geometries.findClosestIntersection(ray).point);
+        assertEquals("findClosestIntersection() with BVH returned wrong point (TC02)",
+                new Point3D(21,5,2), geometries.findClosestIntersection(backwards).point);
+
+        // TC03: Maximal distance cuts the far shapes - between the sphere (-1,5,2) and the plane (2,5,2)
+        Ray middle = new Ray(new Point3D(0,5,2), new Vector(1,0,0));
+        assertEquals("findClosestIntersection() returned wrong point within the distance (TC03)",
+                new Point3D(2,5,2), geometries.findClosestIntersection(middle, 2.5).point);
+
+        // =============== Boundary Values Tests ==================
+
+        // TC11: Nothing before the maximal distance
+        assertNull("findClosestIntersection() returned a point beyond the distance (TC11)",
+                geometries.findClosestIntersection(middle, 1.5));
+
+        // TC12: Intersection exactly at the maximal distance is ignored
+        assertNull("findClosestIntersection() returned a point at the distance (TC12)",
+                geometries.findClosestIntersection(middle, 2));
+    }
+
+    /**
+     * Test method for {@link Geometries#findTransparency(Ray, double, double, double)}.
+     */
+    @Test
+    public void testFindTransparency() {
+        Material glass = new Material(0, 0, 0, 0.5, 0);
+        Geometries geometries = new Geometries(
+                new Sphere(new Color(0,0,0), glass, 1, new Point3D(0,0,0)),
+                new Polygon(glass, new Color(0,0,0), new Point3D(3,-1,-1), new Point3D(3,1,-1),
+                        new Point3D(3,1,1), new Point3D(3,-1,1)),
+                new Plane(new Point3D(6,0,0), new Vector(1,0,0)));
+        Ray ray = new Ray(new Point3D(-5,0,0), new Vector(1,0,0));
+
+        // ============ Equivalence Partitions Tests ==============
+
+        // TC01: Light between the polygon and the plane - twice through the sphere, once through the polygon
+        assertEquals("findTransparency() returned wrong factor (TC01)", 0.125,
+                geometries.findTransparency(ray, 10, 1, 0.001), 1e-10);
+
+        // TC02: Light behind the opaque plane
+        assertEquals("findTransparency() didn't stop at the opaque plane (TC02)", 0,
+                geometries.findTransparency(ray, 20, 1, 0.001), 1e-10);
+
+        // TC03: Same results with the hierarchy
+        geometries.buildBVH();
+        assertEquals("findTransparency() with BVH returned wrong factor (TC03)", 0.125,
+                geometries.findTransparency(ray, 10, 1, 0.001), 1e-10);
+        assertEquals("findTransparency() with BVH didn't stop at the opaque plane (TC03)", 0,
+                geometries.findTransparency(ray, 20, 1, 0.001), 1e-10);
+
+        // =============== Boundary Values Tests ==================
+
+        // TC11: The factor falls under the minimum - full shadow
+        assertEquals("findTransparency() didn't cut the factor under the minimum (TC11)", 0,
+                geometries.findTransparency(ray, 10, 1, 0.2), 1e-10);
+
+        // TC12: Light before all the shapes
+        assertEquals("findTransparency() blocked a light in front of the shapes (TC12)", 1,
+                geometries.findTransparency(ray, 2, 1, 0.001), 1e-10);
+    }
+
+    /**
+     * Test method for {@link Geometries#setIntersectionCounter(IntersectionCounter)}.
+     */
+    @Test
+    public void testIntersectionCounter() {
+        Sphere sphere = new Sphere(1, new Point3D(0,0,0));
+        Polygon polygon = new Polygon(new Point3D(3,-1,-1), new Point3D(3,1,-1),
+                new Point3D(3,1,1), new Point3D(3,-1,1));
+        Plane plane = new Plane(new Point3D(6,0,0), new Vector(1,0,0));
+        Geometries geometries = new Geometries(sphere, new Geometries(polygon), plane);
+        List<Intersectable> tested = new ArrayList<>();
+        geometries.setIntersectionCounter(tested::add);
+
+        // ============ Equivalence Partitions Tests ==============
+
+        // TC01: Plain list - every shape is tested once, the nested composite reports its own shape
+        geometries.findIntersections(new Ray(new Point3D(-5,0,0), new Vector(1,0,0)));
+        assertEquals("counter got wrong tests (TC01)", List.of(sphere, polygon, plane), tested);
+
+        // TC02: Hierarchy - a ray which misses all the boxes tests only the infinite plane
+        geometries.buildBVH();
+        tested.clear();
+        geometries.findClosestIntersection(new Ray(new Point3D(-5,5,0), new Vector(1,0,0)));
+        assertEquals("counter got wrong tests with BVH (TC02)", List.of(plane), tested);
+
+        // TC03: No counter - nothing is reported
+        geometries.setIntersectionCounter(null);
+        tested.clear();
+        geometries.findTransparency(new Ray(new Point3D(-5,0,0), new Vector(1,0,0)), 10, 1, 0.001);
+        assertTrue("removed counter got tests (TC03)", tested.isEmpty());
+    }
+}
@@ -0,0 +1,108 @@
+package Tests.IntegrationTests;
+
+import geometries.TriangleMesh;
+import primitives.*;
+import scene.ObjLoader;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+import static geometries.Intersectable.GeoPoint;
+
+/**
+ * Test class to check the loading of OBJ files into meshes
+ */
+public class ObjLoaderTest {
+
+    // Two unit squares on the plane z=0: a red one (a quad) on x in [0, 1] and a blue one
+    // (two triangles with relative indices and texture/normal references) on x in [2, 3]
+    final String obj = "# test file\r\n"
+            + "mtllib colors.mtl missing.mtl\r\n"
+            + "v 0 0 0\r\nv 1.0 0 0\r\nv 1 1 0\r\nv 0 1e0 0\r\n"
+            + "vt 0 0\r\nvn 0 0 1\r\n"
+            + "usemtl red\r\n"
+            + "f 1 2 3 4\r\n"
+            + "g blue part\r\n"
+            + "v 2 0 0\nv 3 0 0\nv 3 1 0\nv 2 1 0 # last vertex\n"
+            + "usemtl blue\n"
+            + "f -4/1/1 -3/1/1 -2/1/1\n"
+            + "f -4//1 -2//1 -1//1";
+
+    final String mtl = "newmtl red\n"
+            + "Kd 1 0 0\n"
+            + "Ks 0.5 0.5 0.5\n"
+            + "Ns 20\n"
+            + "newmtl blue\n"
+            + "Kd 0 0 1\n"
+            + "d 0.25\n";
+
+    /**
+     * Test method for {@link ObjLoader#load()}.
+     */
+    @Test
+    public void testLoad() throws IOException {
+        Path dir = Files.createTempDirectory("objLoader");
+        Path file = dir.resolve("squares.obj");
+        Files.writeString(file, obj);
+        Files.writeString(dir.resolve("colors.mtl"), mtl);
+        Vector down = new Vector(0, 0, -1);
+        try {
+            // ============ Equivalence Partitions Tests ==============
+
+            // TC01: Whole file in a single chunk
+            checkSquares(new ObjLoader(file).load(), down);
+
+            // TC02: Tiny chunks - the materials and the relative indices cross the chunk borders
+            ObjLoader loader = new ObjLoader(file).setChunkSize(7);
+            checkSquares(loader.load(), down);
+            assertTrue("No throughput reported", loader.getThroughput() > 0);
+
+            // TC03: Malformed number
+            Files.writeString(file, "v 0 0 0\nv 1 x 0\nv 0 1 0\nf 1 2 3\n");
+            try {
+                new ObjLoader(file).load();
+                fail("Loaded a malformed file");
+            } catch (IllegalArgumentException e) {}
+
+            // =============== Boundary Values Tests ==================
+
+            // TC11: File without faces
+            Files.writeString(file, "v 0 0 0\n");
+            try {
+                new ObjLoader(file).load();
+                fail("Loaded a file without faces");
+            } catch (IllegalArgumentException e) {}
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(dir.resolve("colors.mtl"));
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    /**
+     * Checks the mesh of the squares of the test file
+     * @param mesh the loaded mesh
+     * @param down direction of the rays
+     */
+    private void checkSquares(TriangleMesh mesh, Vector down) {
+        assertEquals("Wrong amount of faces", 4, mesh.getFaceCount());
+        assertEquals("Wrong amount of vertices", 8, mesh.getVertexCount());
+
+        GeoPoint red = mesh.findClosestIntersection(new Ray(new Point3D(0.25, 0.75, 1), down));
+        assertEquals("Wrong point on the quad", new Point3D(0.25, 0.75, 0), red.point);
+        assertEquals("Wrong emission of the quad", new Color(255, 0, 0), red.geometry.getEmission());
+        Material material = red.geometry.getMaterial();
+        assertEquals("Wrong kD of the quad", 1 / 3.0, material.getKD(), 1e-10);
+        assertEquals("Wrong kS of the quad", 0.5, material.getKS(), 1e-10);
+        assertEquals("Wrong shininess of the quad", 20, material.getNShininess());
+
+        GeoPoint blue = mesh.findClosestIntersection(new Ray(new Point3D(2.25, 0.75, 1), down));
+        assertEquals("Wrong emission of the second square", new Color(0, 0, 255), blue.geometry.getEmission());
+        assertEquals("Wrong kT of the second square", 0.75, blue.geometry.getMaterial().getKT(), 1e-10);
+        assertNotNull("Missing triangle of the second square",
+                mesh.findClosestIntersection(new Ray(new Point3D(2.75, 0.25, 1), down)));
+    }
+}
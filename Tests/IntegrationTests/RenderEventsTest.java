@@ -0,0 +1,68 @@
+package Tests.IntegrationTests;
+
+import elements.*;
+import geometries.*;
+import primitives.*;
+import renderer.*;
+import scene.Scene;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class to check the flight recorder events of the rendering
+ */
+public class RenderEventsTest {
+
+    /**
+     * Test method for the flight recorder events of {@link Render#renderImage()} and {@link ImageWriter#writeToImage()}.
+     */
+    @Test
+    public void testRenderEvents() throws IOException {
+        Scene scene = new Scene("Events scene");
+        scene.setCamera(new Camera(new Point3D(0, 0, -1000), new Vector(0, 0, 1), new Vector(0, -1, 0)));
+        scene.setDistance(1000);
+        scene.setBackground(Color.BLACK);
+        scene.setAmbientLight(new AmbientLight(Color.BLACK, 0));
+        scene.addGeometries(
+                new Sphere(new Color(java.awt.Color.BLUE), new Material(0.5, 0.5, 30), 50, new Point3D(0, 0, 50)),
+                new Plane(new Point3D(0, 0, 200), new Vector(0, 0, -1), new Color(java.awt.Color.GRAY),
+                        new Material(0.5, 0.5, 30)));
+        scene.addLights(new PointLight(new Color(400, 400, 400), 10, new Point3D(100, 100, -100), 1, 1E-5, 1.5E-7));
+        ImageWriter imageWriter = new ImageWriter("renderEvents", 200, 200, 20, 20);
+        Render render = new Render(imageWriter, scene, 8, 2).setBVH().setAdaptiveSoftShadows();
+
+        Set<String> names = new HashSet<>();
+        Path file = Files.createTempFile("renderEvents", ".jfr");
+        try (Recording recording = new Recording()) {
+            for (String event : new String[] {"renderer.ScenePreparation", "renderer.Tile", "renderer.SuperSampling",
+                    "renderer.SoftShadow", "renderer.ImageEncoding"})
+                recording.enable(event);
+            recording.start();
+            render.renderImage();
+            render.writeToImage();
+            recording.stop();
+            recording.dump(file);
+            for (RecordedEvent event : RecordingFile.readAllEvents(file))
+                names.add(event.getEventType().getName());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        // ============ Equivalence Partitions Tests ==============
+        assertTrue("scene preparation wasn't recorded", names.contains("renderer.ScenePreparation"));
+        assertTrue("tiles weren't recorded", names.contains("renderer.Tile"));
+        assertTrue("super sampling wasn't recorded", names.contains("renderer.SuperSampling"));
+        assertTrue("soft shadows weren't recorded", names.contains("renderer.SoftShadow"));
+        assertTrue("image encoding wasn't recorded", names.contains("renderer.ImageEncoding"));
+    }
+}
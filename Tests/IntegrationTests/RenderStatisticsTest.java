@@ -0,0 +1,110 @@
+package Tests.IntegrationTests;
+
+import elements.*;
+import geometries.*;
+import primitives.*;
+import renderer.*;
+import scene.Scene;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+import static renderer.RenderStatistics.RayType;
+
+/**
+ * Test class to check the counters of the rendering
+ */
+public class RenderStatisticsTest {
+
+    /**
+     * @return scene of a reflecting sphere over a plane, lit by a point light
+     */
+    private Scene buildScene() {
+        Scene scene = new Scene("Statistics scene");
+        scene.setCamera(new Camera(new Point3D(0, 0, -1000), new Vector(0, 0, 1), new Vector(0, -1, 0)));
+        scene.setDistance(1000);
+        scene.setBackground(Color.BLACK);
+        scene.setAmbientLight(new AmbientLight(Color.BLACK, 0));
+        scene.addGeometries(
+                new Sphere(new Color(java.awt.Color.BLUE), new Material(0.5, 0.5, 30, 0, 0.5), 50, new Point3D(0, 0, 50)),
+                new Plane(new Point3D(0, 0, 200), new Vector(0, 0, -1), new Color(java.awt.Color.GRAY),
+                        new Material(0.5, 0.5, 30)));
+        scene.addLights(new PointLight(new Color(400, 400, 400), new Point3D(100, 100, -100), 1, 1E-5, 1.5E-7));
+        return scene;
+    }
+
+    /**
+     * Test method for {@link Render#getStatistics()}.
+     */
+    @Test
+    public void testStatistics() {
+        ImageWriter imageWriter = new ImageWriter("statistics", 200, 200, 20, 20);
+
+        // ============ Equivalence Partitions Tests ==============
+
+        // TC01: Statistics are off - nothing is collected
+        Render render = new Render(imageWriter, buildScene());
+        render.renderImage();
+        assertNull("statistics collected without request (TC01)", render.getStatistics());
+
+        // TC02: A single primary ray per pixel, and every shape is tested by every primary ray
+        render = new Render(imageWriter, buildScene()).setStatistics();
+        render.renderImage();
+        RenderStatistics statistics = render.getStatistics();
+        assertEquals("wrong amount of primary rays (TC02)", 400, statistics.getRays(RayType.PRIMARY));
+        assertTrue("no shadow rays (TC02)", statistics.getRays(RayType.SHADOW) > 0);
+        assertTrue("no reflected rays (TC02)", statistics.getRays(RayType.REFLECTED) > 0);
+        assertEquals("refracted rays without transparent shapes (TC02)", 0, statistics.getRays(RayType.REFRACTED));
+        assertEquals("soft shadow rays without soft shadows (TC02)", 0, statistics.getRays(RayType.SOFT_SHADOW));
+        assertTrue("sphere tests missing (TC02)", statistics.getIntersectionTests(Sphere.class) >= 400);
+        assertTrue("plane tests missing (TC02)", statistics.getIntersectionTests(Plane.class) >= 400);
+        assertEquals("composite counted as a shape (TC02)", 0, statistics.getIntersectionTests(Geometries.class));
+        assertEquals("subdivisions without super sampling (TC02)", 0, statistics.getSubdivisions());
+
+        // TC03: Super sampling divides the pixels on the edge of the sphere
+        render = new Render(imageWriter, buildScene()).setSuperSamplings(2).setStatistics();
+        render.renderImage();
+        statistics = render.getStatistics();
+        assertTrue("no subdivisions (TC03)", statistics.getSubdivisions() > 0);
+        assertTrue("too few primary rays (TC03)", statistics.getRays(RayType.PRIMARY) > 21 * 21);
+    }
+
+    /**
+     * Test method for {@link Render#setCostMap()}.
+     */
+    @Test
+    public void testCostMap() {
+        ImageWriter imageWriter = new ImageWriter("costMap", 200, 200, 20, 20);
+
+        // ============ Equivalence Partitions Tests ==============
+
+        // TC01: Cost map is off - nothing is recorded
+        Render render = new Render(imageWriter, buildScene());
+        render.renderImage();
+        assertNull("cost map recorded without request (TC01)", render.getPixelRays());
+
+        // TC02: The rays of all the pixels are all the traced rays, with the sequential and the fork/join rendering.
+        // The times of the pixels don't overlap - a thread which joins sub-pixels doesn't charge the stolen work
+        for (boolean forkJoin : new boolean[] {false, true}) {
+            int threads = forkJoin ? 2 : 1;
+            render = new Render(imageWriter, buildScene()).setSuperSamplings(2).setStatistics().setCostMap()
+                    .setMultithreading(threads);
+            if (forkJoin) render.setForkJoin();
+            long start = System.nanoTime();
+            render.renderImage();
+            long elapsed = System.nanoTime() - start;
+            long rays = 0;
+            for (int pixelRays : render.getPixelRays()) {
+                assertTrue("pixel without rays (TC02)", pixelRays > 0);
+                rays += pixelRays;
+            }
+            assertEquals("pixel rays don't sum up to the traced rays (TC02)",
+                    render.getStatistics().getTotalRays(), rays);
+            long nanos = 0;
+            for (long pixelNanos : render.getPixelNanos()) {
+                assertTrue("pixel without time (TC02)", pixelNanos > 0);
+                nanos += pixelNanos;
+            }
+            assertTrue("pixel times sum up to more than the rendering threads ran (TC02)", nanos <= threads * elapsed);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package Tests.UnitTests;
+
+import primitives.*;
+import geometries.*;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for geometries.BoundingBox class
+ */
+public class BoundingBoxTest {
+
+    /**
+     * Helper - runs the slab test of the box with the given ray
+     * @param box the tested box
+     * @param ray the tested ray
+     * @return true if the ray passes through the box
+     */
+    private boolean intersects(BoundingBox box, Ray ray) {
+        return box.intersects(ray, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Test method for {@link geometries.BoundingBox#intersects(Ray, double)}.
+     */
+    @Test
+    public void testIntersects() {
+        BoundingBox box = new BoundingBox(new Point3D(0,0,0), new Point3D(2,2,2));
+
+        // ============ Equivalence Partitions Tests ==============
+
+        // TC01: Ray passes through the box
+        assertTrue("intersects() missed a ray through the box (TC01)",
+                intersects(box, new Ray(new Point3D(-1,-1,-1), new Vector(1,1,1))));
+
+        // TC02: Ray misses the box
+        assertFalse("intersects() hit a ray that misses the box (TC02)",
+                intersects(box, new Ray(new Point3D(-1,5,-1), new Vector(1,0,1))));
+
+        // TC03: Ray points away from the box
+        assertFalse("intersects() hit a box behind the ray (TC03)",
+                intersects(box, new Ray(new Point3D(3,3,3), new Vector(1,1,1))));
+
+        // TC04: Ray starts inside the box
+        assertTrue("intersects() missed a ray that starts inside the box (TC04)",
+                intersects(box, new Ray(new Point3D(1,1,1), new Vector(1,-2,3))));
+
+        // =============== Boundary Values Tests ==================
+
+        // TC11: Ray is parallel to an axis and goes through the box
+        assertTrue("intersects() missed an axis-parallel ray (TC11)",
+                intersects(box, new Ray(new Point3D(1,1,-5), new Vector(0,0,1))));
+
+        // TC12: Ray is parallel to an axis and passes next to the box
+        assertFalse("intersects() hit an axis-parallel ray outside the box (TC12)",
+                intersects(box, new Ray(new Point3D(3,1,-5), new Vector(0,0,1))));
+
+        // TC13: Flat box (polygon on an axis plane) hit by a diagonal ray
+        BoundingBox flat = new BoundingBox(new Point3D(0,0,0), new Point3D(2,2,0));
+        assertTrue("intersects() missed a flat box (TC13)",
+                intersects(flat, new Ray(new Point3D(0,0,1), new Vector(1,1,-1))));
+    }
+
+    /**
+     * Test method for {@link geometries.Intersectable#getBoundingBox()}.
+     */
+    @Test
+    public void testGetBoundingBox() {
+        // ============ Equivalence Partitions Tests ==============
+
+        // TC01: Sphere box is its center +- radius
+        BoundingBox box = new Sphere(2, new Point3D(1,2,3)).getBoundingBox();
+        assertEquals("Wrong sphere box (TC01)", -1, box.getMin(0), 1e-10);
+        assertEquals("Wrong sphere box (TC01)", 5, box.getMax(2), 1e-10);
+
+        // TC02: Cylinder along Z - the bases are discs of the radius on X and Y
+        box = new Cylinder(new Ray(new Point3D(0,0,1), new Vector(0,0,1)), 1, 3).getBoundingBox();
+        assertEquals("Wrong cylinder box (TC02)", -1, box.getMin(0), 1e-10);
+        assertEquals("Wrong cylinder box (TC02)", 1, box.getMin(2), 1e-10);
+        assertEquals("Wrong cylinder box (TC02)", 4, box.getMax(2), 1e-10);
+
+        // TC03: Infinite shapes have no box
+        Plane plane = new Plane(new Point3D(0,0,0), new Vector(0,0,1));
+        Tube tube = new Tube(1, new Ray(new Point3D(0,0,0), new Vector(0,0,1)));
+        assertNull("Plane must be unbounded (TC03)", plane.getBoundingBox());
+        assertNull("Tube must be unbounded (TC03)", tube.getBoundingBox());
+        assertFalse("Plane must report itself unbounded (TC03)", plane.isBounded());
+        assertFalse("Tube must report itself unbounded (TC03)", tube.isBounded());
+
+        // TC04: Polygon box is the box of its vertices
+        Polygon polygon = new Polygon(new Point3D(0,0,0), new Point3D(2,0,0), new Point3D(2,3,1), new Point3D(0,3,1));
+        assertTrue("Polygon must be bounded (TC04)", polygon.isBounded());
+        assertEquals("Wrong polygon box (TC04)", 3, polygon.getBoundingBox().getMax(1), 1e-10);
+
+        // =============== Boundary Values Tests ==================
+
+        // TC11: Composite with an infinite shape is unbounded
+        assertNull("Geometries with a plane must be unbounded (TC11)",
+                new Geometries(new Sphere(1, new Point3D(0,0,0)),
+                        new Plane(new Point3D(0,0,0), new Vector(0,0,1))).getBoundingBox());
+    }
+}
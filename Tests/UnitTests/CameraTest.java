@@ -52,4 +52,31 @@ public class CameraTest {
                 camera.constructRayThroughPixel(3, 3, 0, 1, 10, 6, 6));
     }
 
+    /**
+     * Test method for
+     * {@link elements.Camera#constructRayThroughCorner(int, int, int, int, double, double, double)}.
+     */
+    @Test
+    public void testConstructRayThroughCorner() {
+        Camera camera = new Camera(Point3D.ZERO, new Vector(0, 0, 1), new Vector(0, -1, 0));
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: 3X3 Inside corner (1,2)
+        assertEquals("Bad ray", new Ray(Point3D.ZERO, new Vector(-1, 1, 10)),
+                camera.constructRayThroughCorner(3, 3, 1, 2, 10, 6, 6));
+
+        // TC02: the same corner in a grid of twice the resolution gives the same ray
+        assertEquals("Bad ray", camera.constructRayThroughCorner(3, 3, 1, 2, 10, 6, 6),
+                camera.constructRayThroughCorner(6, 6, 2, 4, 10, 6, 6));
+
+        // =============== Boundary Values Tests ==================
+        // TC11: 3X3 Top left corner of the view plane (0,0)
+        assertEquals("Bad ray", new Ray(Point3D.ZERO, new Vector(-3, -3, 10)),
+                camera.constructRayThroughCorner(3, 3, 0, 0, 10, 6, 6));
+
+        // TC12: 3X3 Bottom right corner of the view plane (3,3)
+        assertEquals("Bad ray", new Ray(Point3D.ZERO, new Vector(3, 3, 10)),
+                camera.constructRayThroughCorner(3, 3, 3, 3, 10, 6, 6));
+    }
+
 }
@@ -6,6 +6,7 @@ import geometries.Tube;
 import geometries.Cylinder;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Random;
 import static org.junit.Assert.*;
 import static geometries.Intersectable.GeoPoint.convertPointsToGPoints;
 import static geometries.Intersectable.GeoPoint;
@@ -281,4 +282,50 @@ public class CylinderTest {
 
     }
 
-}
\ No newline at end of file
+    /**
+     * Test method for {@link geometries.Cylinder#findClosestIntersection(Ray, double)} - the first point of
+     * {@link geometries.Cylinder#findIntersections(Ray)}
+     */
+    @Test
+    public void testFindClosestIntersection() {
+        Cylinder cylinder = new Cylinder(new Ray(new Point3D(0, 0, -2), new Vector(0, 0, 1)), 2.0, 4.0);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Random rays from around and inside the cylinder hit the nearest of all its points
+        Random random = new Random(5);
+        int hits = 0;
+        for (int i = 0; i < 500; ++i) {
+            Point3D start = new Point3D(12 * random.nextDouble() - 6, 12 * random.nextDouble() - 6,
+                    12 * random.nextDouble() - 6);
+            Ray ray = new Ray(start, new Point3D(0, 0, 0).subtract(start).add(
+                    new Vector(6 * random.nextDouble() - 3, 6 * random.nextDouble() - 3, 6 * random.nextDouble() - 3)));
+            List<GeoPoint> all = cylinder.findIntersections(ray);
+            GeoPoint actual = cylinder.findClosestIntersection(ray);
+            if (all == null) {
+                assertNull("Closest intersection where there is none (TC01)", actual);
+                continue;
+            }
+            ++hits;
+            assertNotNull("Closest intersection missed (TC01)", actual);
+            assertEquals("Wrong closest point (TC01)", 0, all.get(0).point.distance(actual.point), 1e-9);
+        }
+        assertTrue("Too few rays hit the cylinder", hits > 100);
+
+        // =============== Boundary Values Tests ==================
+        // TC11: The first root of the tube is above the upper base - the base is the closest point
+        Ray ray = new Ray(new Point3D(0, -3, 6), new Vector(0, 2, -4));
+        assertEquals("Wrong closest point through the base (TC11)", new Point3D(0, -1, 2),
+                cylinder.findClosestIntersection(ray).point);
+
+        // TC12: The side point is at the max distance - ignored
+        ray = new Ray(new Point3D(0, -5, 0), new Vector(0, 1, 0));
+        assertNull("Intersection at the max distance found (TC12)", cylinder.findClosestIntersection(ray, 3));
+        assertEquals("Wrong closest side point (TC12)", new Point3D(0, -2, 0),
+                cylinder.findClosestIntersection(ray, 3.5).point);
+
+        // TC13: The ray starts on the center line
+        ray = new Ray(new Point3D(0, 0, 0), new Vector(1, 0, 0));
+        assertEquals("Wrong closest point from the center line (TC13)", new Point3D(2, 0, 0),
+                cylinder.findClosestIntersection(ray).point);
+    }
+}
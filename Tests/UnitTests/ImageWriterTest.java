@@ -1,8 +1,15 @@
 package Tests.UnitTests;
 
 import org.junit.Test;
+import renderer.ImageFormat;
 import renderer.ImageWriter;
 import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import javax.imageio.ImageIO;
+
+import static org.junit.Assert.*;
 
 public class ImageWriterTest {
 
@@ -23,6 +30,45 @@ public class ImageWriterTest {
         write.writeToImage();
     }
 
+    /**
+     * test ImageWriter writeToImage() in all the formats
+     */
+    @Test
+    public void testImageFormats(){
+        ImageWriter write = new ImageWriter("testFormats", 16, 10, 16, 10);
+        for(int i=0; i<10; i++)
+            for(int j=0; j<16; j++)
+                write.writePixel(j, i, j * 20, i * 30, 400); // blue above the 8 bit range
+        for (ImageFormat format : ImageFormat.values()) {
+            write.setFormat(format).writeToImage();
+            File file = new File(System.getProperty("user.dir"), "testFormats." + format.getExtension());
+            assertTrue("ERROR: " + format + " file wasn't written", file.length() > 0);
+        }
+        // raw formats - header and exactly 3 components for each pixel
+        assertEquals("ERROR: wrong ppm size", "P6\n16 10\n255\n".length() + 3 * 16 * 10,
+                new File(System.getProperty("user.dir"), "testFormats.ppm").length());
+        assertEquals("ERROR: wrong pfm size", "PF\n16 10\n-1.0\n".length() + 4 * 3 * 16 * 10,
+                new File(System.getProperty("user.dir"), "testFormats.pfm").length());
+    }
+
+    /**
+     * test ImageWriter writeHeatmap()
+     */
+    @Test
+    public void testWriteHeatmap() throws IOException {
+        ImageWriter write = new ImageWriter("test", 10, 10, 10, 10).setFormat(ImageFormat.PNG);
+        double[] values = new double[100];
+        for (int i = 0; i < 100; i++)
+            values[i] = i;
+        values[99] = 1e6; // extreme pixel - mustn't darken the rest of the scale
+        write.writeHeatmap("testHeatmap", values);
+        BufferedImage image = ImageIO.read(new File(System.getProperty("user.dir"), "testHeatmap.png"));
+        assertEquals("ERROR: zero isn't black", 0x000000, image.getRGB(0, 0) & 0xFFFFFF);
+        assertEquals("ERROR: top value isn't red", 0xFF0000, image.getRGB(9, 9) & 0xFFFFFF);
+        assertEquals("ERROR: top percent isn't red", 0xFF0000, image.getRGB(8, 9) & 0xFFFFFF);
+        assertTrue("ERROR: scale is dark below the extreme pixel", (image.getRGB(5, 5) & 0x00FF00) != 0);
+    }
+
 
 }
 
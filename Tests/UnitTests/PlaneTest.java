@@ -32,7 +32,7 @@ public class PlaneTest {
         // So, the correct normal is: (-4,9,-4)x(-5,-2,-7) => (-71,-8,53)
 
         Vector correctNormal = new Vector(-71,-8,53);
-        correctNormal.normalize();
+        correctNormal = correctNormal.normalize();
 
         //let's check the getNormal method and see if we got the correct Vector
         Plane checkPlane = new Plane(firstInPlane, secondInPlane, thirdInPlane);
@@ -6,6 +6,7 @@ import java.util.List;
 import java.util.ArrayList;
 import geometries.Polygon;
 import static org.junit.Assert.*;
+import static geometries.Intersectable.GeoPoint;
 import static geometries.Intersectable.GeoPoint.convertPointsToGPoints;
 
 /**
@@ -228,4 +229,52 @@ public class PolygonTests {
 
     }
 
+    /**
+     * Test method for {@link geometries.Polygon#findClosestIntersection(Ray, double)} - a hexagon on
+     * a tilted plane, in both orders of the vertices
+     */
+    @Test
+    public void testFindClosestIntersection() {
+        // The hexagon lays on the plane y = 0.2x + 0.1z
+        double[][] xz = {{2, 0}, {1, 1.7}, {-1, 1.7}, {-2, 0}, {-1, -1.7}, {1, -1.7}};
+        Point3D[] vertices = new Point3D[xz.length], reversed = new Point3D[xz.length];
+        for (int i = 0; i < xz.length; ++i) {
+            vertices[i] = new Point3D(xz[i][0], 0.2 * xz[i][0] + 0.1 * xz[i][1], xz[i][1]);
+            reversed[xz.length - 1 - i] = vertices[i];
+        }
+        Vector up = new Vector(0, 1, 0);
+        for (Polygon hexagon : new Polygon[] {new Polygon(vertices), new Polygon(reversed)}) {
+            // ============ Equivalence Partitions Tests ==============
+
+            // TC01: Ray through the center
+            GeoPoint gp = hexagon.findClosestIntersection(new Ray(new Point3D(0, -10, 0), up));
+            assertEquals("Wrong intersection point (TC01)", new Point3D(0, 0, 0), gp.point);
+            assertSame("Wrong intersected geometry (TC01)", hexagon, gp.geometry);
+
+            // TC02: Ray through the corner of a vertex
+            assertNotNull("Ray near a vertex missed (TC02)",
+                    hexagon.findClosestIntersection(new Ray(new Point3D(1.8, -10, 0), up)));
+
+            // TC03: Ray outside, beside an edge
+            assertNull("Ray beside an edge has intersection (TC03)",
+                    hexagon.findClosestIntersection(new Ray(new Point3D(1.8, -10, 1.2), up)));
+
+            // =============== Boundary Values Tests ==================
+
+            // TC11: Ray through a vertex
+            assertNull("Ray through a vertex has intersection (TC11)",
+                    hexagon.findClosestIntersection(new Ray(new Point3D(2, -10, 0), up)));
+
+            // TC12: Ray through an edge
+            assertNull("Ray through an edge has intersection (TC12)",
+                    hexagon.findClosestIntersection(new Ray(new Point3D(0, -10, 1.7), up)));
+
+            // TC13: The intersection is just after / before the max distance
+            assertNull("Intersection after the max distance found (TC13)",
+                    hexagon.findClosestIntersection(new Ray(new Point3D(0, -10, 0), up), 9.99));
+            assertNotNull("Intersection before the max distance not found (TC13)",
+                    hexagon.findClosestIntersection(new Ray(new Point3D(0, -10, 0), up), 10.01));
+        }
+    }
+
 }
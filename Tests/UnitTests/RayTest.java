@@ -0,0 +1,72 @@
+package Tests.UnitTests;
+
+import primitives.*;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for primitives.Ray class
+ */
+public class RayTest {
+
+    /**
+     * Test method for the component getters of {@link Ray} - {@link Ray#getStart(int)},
+     * {@link Ray#getDirection(int)}, {@link Ray#getInverseDirection(int)} and {@link Ray#getSign(int)}
+     */
+    @Test
+    public void testComponents() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Direction with positive and negative components
+        Ray ray = new Ray(new Point3D(1, 2, 3), new Vector(2, -4, 4));
+        double[] expected = {1 / 3.0, -2 / 3.0, 2 / 3.0};
+        for (int axis = 0; axis < 3; ++axis) {
+            assertEquals("Wrong start component (TC01)", axis + 1, ray.getStart(axis), 0);
+            assertEquals("Wrong direction component (TC01)", expected[axis], ray.getDirection(axis), 1e-15);
+            assertEquals("Wrong inverse direction (TC01)", 1 / ray.getDirection(axis),
+                    ray.getInverseDirection(axis), 0);
+        }
+        assertEquals("Wrong sign of a positive component (TC01)", 0, ray.getSign(0));
+        assertEquals("Wrong sign of a negative component (TC01)", 1, ray.getSign(1));
+        assertEquals("Wrong sign of a positive component (TC01)", 0, ray.getSign(2));
+        assertEquals("Wrong point on the ray (TC01)", new Point3D(2, 0, 5), ray.getPoint(3));
+
+        // TC02: The copy and the moved ray have the same components as a new ray
+        Ray copy = new Ray(ray);
+        assertEquals("Wrong copy (TC02)", ray, copy);
+        Ray moved = new Ray(new Point3D(1, 2, 3), new Vector(2, -4, 4), new Vector(0, 0, 1));
+        assertEquals("Wrong moved ray (TC02)", new Ray(new Point3D(1, 2, 3.1), new Vector(2, -4, 4)), moved);
+        assertEquals("Wrong start of the moved ray (TC02)", 3.1, moved.getStart(2), 1e-15);
+
+        // =============== Boundary Values Tests ==================
+        // TC11: Direction parallel to an axis - the inverse of the zero components is infinite
+        ray = new Ray(Point3D.ZERO, new Vector(0, 0, -2));
+        assertTrue("Inverse of a zero component is not infinite (TC11)",
+                Double.isInfinite(ray.getInverseDirection(0)));
+        assertEquals("Wrong inverse direction (TC11)", -1, ray.getInverseDirection(2), 0);
+        assertEquals("Wrong sign of a negative component (TC11)", 1, ray.getSign(2));
+    }
+
+    /**
+     * Test method for {@link Ray#getStart()} and {@link Ray#getDirection()}
+     */
+    @Test
+    public void testGetters() {
+        // ============ Equivalence Partitions Tests ==============
+        Ray ray = new Ray(new Point3D(1, 2, 3), new Vector(0, 3, 4));
+        // TC01: Vectors are immutable, so the direction is returned as is
+        assertEquals("Wrong direction (TC01)", new Vector(0, 0.6, 0.8), ray.getDirection());
+        assertSame("getDirection() copies the immutable direction (TC01)",
+                ray.getDirection(), ray.getDirection());
+        assertEquals("Direction components don't match the direction (TC01)", 0.6, ray.getDirection(1), 1e-15);
+
+        // TC02: The start point is immutable, so it is returned as is
+        assertSame("getStart() copies the immutable start point (TC02)", ray.getStart(), ray.getStart());
+
+        // TC03: A unit direction is kept as it is, also when the ray is moved off a surface
+        Vector unit = new Vector(0, 0.6, 0.8);
+        assertSame("Unit direction normalized again (TC03)", unit, new Ray(Point3D.ZERO, unit).getDirection());
+        assertSame("Unit direction of a moved ray copied (TC03)", unit,
+                new Ray(Point3D.ZERO, unit, new Vector(0, 0, 1)).getDirection());
+    }
+}
@@ -0,0 +1,59 @@
+package Tests.UnitTests;
+
+import primitives.Color;
+import renderer.RefinementOracle;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the refinement criteria of the adaptive super sampling
+ */
+public class RefinementOracleTest {
+
+    final Color gray = new Color(100, 100, 100);
+
+    /**
+     * Test method for {@link RefinementOracle#EXACT}
+     */
+    @Test
+    public void testExact() {
+        // ============ Equivalence Partitions Tests ==============
+        assertFalse("ERROR: same colors refined", RefinementOracle.EXACT.needsRefinement(gray, new Color(gray)));
+        assertTrue("ERROR: different colors not refined",
+                RefinementOracle.EXACT.needsRefinement(gray, new Color(100, 100, 101)));
+    }
+
+    /**
+     * Test method for {@link RefinementOracle#luminance(double)}
+     */
+    @Test
+    public void testLuminance() {
+        RefinementOracle oracle = RefinementOracle.luminance(5);
+        // ============ Equivalence Partitions Tests ==============
+        assertFalse("ERROR: small difference refined", oracle.needsRefinement(gray, new Color(102, 102, 102)));
+        assertTrue("ERROR: big difference not refined", oracle.needsRefinement(gray, new Color(110, 110, 110)));
+
+        // =============== Boundary Values Tests ==================
+        // difference exactly on the threshold
+        assertFalse("ERROR: threshold difference refined", oracle.needsRefinement(gray, new Color(105, 105, 105)));
+    }
+
+    /**
+     * Test method for {@link RefinementOracle#contrast(double)}
+     */
+    @Test
+    public void testContrast() {
+        RefinementOracle oracle = RefinementOracle.contrast(0.1);
+        // ============ Equivalence Partitions Tests ==============
+        // the same step is noticeable in a dark area but not in a bright one
+        assertTrue("ERROR: dark step not refined",
+                oracle.needsRefinement(new Color(10, 10, 10), new Color(20, 20, 20)));
+        assertFalse("ERROR: bright step refined",
+                oracle.needsRefinement(new Color(200, 200, 200), new Color(210, 210, 210)));
+
+        // =============== Boundary Values Tests ==================
+        // both black
+        assertFalse("ERROR: black corners refined", oracle.needsRefinement(Color.BLACK, Color.BLACK));
+    }
+}
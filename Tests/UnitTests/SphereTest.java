@@ -35,7 +35,7 @@ public class SphereTest {
         // In our case (-1,1,1)-(1,3,2) => (-2,-2,-1)
         // And the normalized - (-2/3, -2/3, -1/3)
         Vector correctNormal = new Vector(-2,-2,-1);
-        correctNormal.normalize();
+        correctNormal = correctNormal.normalize();
 
         //let's create Sphere object and check if the getNormal method works correctly
         Sphere checkSphere = new Sphere(radius, SphereCenter);
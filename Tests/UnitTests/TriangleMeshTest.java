@@ -0,0 +1,210 @@
+package Tests.UnitTests;
+
+import geometries.*;
+import primitives.*;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+import static geometries.Intersectable.GeoPoint;
+
+/**
+ * Unit tests for geometries.TriangleMesh class
+ */
+public class TriangleMeshTest {
+
+    // A unit square on the plane z=0, made of two triangles which share the diagonal (0,0,0)-(1,1,0)
+    final double[] squareVertices = {0, 0, 0, 1, 0, 0, 1, 1, 0, 0, 1, 0};
+    final int[] squareIndices = {0, 1, 2, 0, 2, 3};
+
+    /**
+     * Test method for {@link TriangleMesh#TriangleMesh(Color[], Material[], int[], double[], int[])}.
+     */
+    @Test
+    public void testConstructor() {
+        Color[] emissions = {Color.BLACK};
+        Material[] materials = {new Material(0, 0, 0)};
+
+        // ============ Equivalence Partitions Tests ==============
+
+        // TC01: Correct mesh
+        TriangleMesh mesh = new TriangleMesh(squareVertices, squareIndices);
+        assertEquals("Wrong amount of faces", 2, mesh.getFaceCount());
+        assertEquals("Wrong amount of vertices", 4, mesh.getVertexCount());
+
+        // TC02: Index of a missing vertex
+        try {
+            new TriangleMesh(squareVertices, new int[] {0, 1, 4});
+            fail("Constructed a mesh with a missing vertex");
+        } catch (IllegalArgumentException e) {}
+
+        // TC03: Indices not in triples
+        try {
+            new TriangleMesh(squareVertices, new int[] {0, 1, 2, 3});
+            fail("Constructed a mesh with a partial face");
+        } catch (IllegalArgumentException e) {}
+
+        // TC04: Missing palette entry
+        try {
+            new TriangleMesh(emissions, materials, new int[] {0, 1}, squareVertices, squareIndices);
+            fail("Constructed a mesh with a missing material");
+        } catch (IllegalArgumentException e) {}
+
+        // =============== Boundary Values Tests ==================
+
+        // TC11: No faces
+        try {
+            new TriangleMesh(squareVertices, new int[0]);
+            fail("Constructed an empty mesh");
+        } catch (IllegalArgumentException e) {}
+    }
+
+    /**
+     * Test method for {@link TriangleMesh#findIntersections(Ray)}.
+     */
+    @Test
+    public void testFindIntersections() {
+        TriangleMesh mesh = new TriangleMesh(squareVertices, squareIndices);
+        Vector down = new Vector(0, 0, -1);
+
+        // ============ Equivalence Partitions Tests ==============
+
+        // TC01: Ray through a face
+        List<GeoPoint> result = mesh.findIntersections(new Ray(new Point3D(0.75, 0.25, 1), down));
+        assertEquals("Wrong amount of intersections", 1, result.size());
+        assertEquals("Wrong intersection point", new Point3D(0.75, 0.25, 0), result.get(0).point);
+        assertEquals("Wrong normal", new Vector(0, 0, 1), result.get(0).geometry.getNormal(result.get(0).point));
+
+        // TC02: Ray outside the mesh
+        assertNull("Ray outside the mesh has intersections",
+                mesh.findIntersections(new Ray(new Point3D(2, 0.5, 1), down)));
+
+        // TC03: Ray away from the mesh
+        assertNull("Ray starting after the mesh has intersections",
+                mesh.findIntersections(new Ray(new Point3D(0.5, 0.25, -1), down)));
+
+        // =============== Boundary Values Tests ==================
+
+        // TC11: Ray through the shared edge - the mesh has no crack between its faces
+        assertNotNull("Ray through a shared edge passed through the mesh",
+                mesh.findClosestIntersection(new Ray(new Point3D(0.5, 0.5, 1), down)));
+        assertEquals("Ray through a shared edge has duplicate intersections",
+                1, mesh.findIntersections(new Ray(new Point3D(0.5, 0.5, 1), down)).size());
+
+        // TC12: Ray parallel to the mesh
+        assertNull("Parallel ray has intersections",
+                mesh.findIntersections(new Ray(new Point3D(-1, 0.5, 0), new Vector(1, 0, 0))));
+    }
+
+    /**
+     * Test method for {@link TriangleMesh#findClosestIntersection(Ray, double)} - the same results as
+     * separate triangles, on a bumpy grid which is big enough for a deep hierarchy
+     */
+    @Test
+    public void testFindClosestIntersection() {
+        int n = 20;
+        Random random = new Random(7);
+        double[] vertices = new double[3 * (n + 1) * (n + 1)];
+        for (int i = 0; i <= n; ++i)
+            for (int j = 0; j <= n; ++j) {
+                int v = 3 * (i * (n + 1) + j);
+                vertices[v] = j;
+                vertices[v + 1] = i;
+                vertices[v + 2] = random.nextDouble();
+            }
+        int[] indices = new int[6 * n * n];
+        Geometries triangles = new Geometries();
+        for (int i = 0, k = 0; i < n; ++i)
+            for (int j = 0; j < n; ++j) {
+                int a = i * (n + 1) + j, b = a + 1, c = a + n + 2, d = a + n + 1;
+                int[] face = {a, b, c, a, c, d};
+                for (int f = 0; f < 6; f += 3) {
+                    System.arraycopy(face, f, indices, k, 3);
+                    k += 3;
+                    triangles.add(new Triangle(point(vertices, face[f]), point(vertices, face[f + 1]),
+                            point(vertices, face[f + 2])));
+                }
+            }
+        TriangleMesh mesh = new TriangleMesh(vertices, indices);
+        assertEquals("Wrong mesh box", n, mesh.getBoundingBox().getMax(0), 1e-10);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Random rays from above the grid hit the same points as with the separate triangles
+        for (int r = 0; r < 200; ++r) {
+            Ray ray = new Ray(new Point3D(random.nextDouble() * n, random.nextDouble() * n, 5),
+                    new Vector(random.nextDouble() - 0.5, random.nextDouble() - 0.5, -1));
+            GeoPoint expected = triangles.findClosestIntersection(ray);
+            GeoPoint actual = mesh.findClosestIntersection(ray);
+            if (expected == null) {
+                // the triangles leave out their edges - the mesh may only add hits on the edges of the grid
+                if (actual != null)
+                    assertTrue("Mesh hit where the triangles were missed (TC01)", onGridEdge(actual.point));
+                continue;
+            }
+            assertNotNull("Mesh missed a triangle (TC01)", actual);
+            assertEquals("Wrong closest point (TC01)", 0, expected.point.distance(actual.point), 1e-9);
+        }
+
+        // =============== Boundary Values Tests ==================
+        // TC11: The intersection is at the max distance - ignored
+        Ray ray = new Ray(new Point3D(0.5, 0.5, 5), new Vector(0, 0, -1));
+        GeoPoint gp = mesh.findClosestIntersection(ray);
+        double t = ray.getStart().distance(gp.point);
+        assertNull("Intersection at the max distance found (TC11)", mesh.findClosestIntersection(ray, t));
+    }
+
+    /**
+     * Test method for the materials of the faces and {@link TriangleMesh#findTransparency(Ray, double, double, double)}.
+     */
+    @Test
+    public void testMaterials() {
+        Color red = new Color(255, 0, 0), blue = new Color(0, 0, 255);
+        Material glass = new Material(0, 0, 0, 0.5, 0), stone = new Material(1, 0, 0);
+        // Two parallel squares: glass at z=0, stone at z=-1
+        double[] vertices = {0, 0, 0, 1, 0, 0, 1, 1, 0, 0, 1, 0, 0, 0, -1, 1, 0, -1, 1, 1, -1, 0, 1, -1};
+        int[] indices = {0, 1, 2, 0, 2, 3, 4, 5, 6, 4, 6, 7};
+        TriangleMesh mesh = new TriangleMesh(new Color[] {red, blue}, new Material[] {glass, stone},
+                new int[] {0, 0, 1, 1}, vertices, indices);
+        Ray ray = new Ray(new Point3D(0.75, 0.25, 1), new Vector(0, 0, -1));
+
+        // ============ Equivalence Partitions Tests ==============
+
+        // TC01: The closest face has its own material and emission
+        GeoPoint gp = mesh.findClosestIntersection(ray);
+        assertSame("Wrong material of the closest face", glass, gp.geometry.getMaterial());
+        assertSame("Wrong emission of the closest face", red, gp.geometry.getEmission());
+
+        // TC02: Light between the squares - passes through the glass
+        assertEquals("Wrong transparency through the glass", 0.5, mesh.findTransparency(ray, 1.5, 1, 0.001), 1e-10);
+
+        // TC03: Light behind both squares - blocked by the stone
+        assertEquals("Light passed through the stone", 0, mesh.findTransparency(ray, 3, 1, 0.001), 1e-10);
+
+        // =============== Boundary Values Tests ==================
+
+        // TC11: Light through the diagonal shared by the glass triangles - the glass is passed once
+        ray = new Ray(new Point3D(0.5, 0.5, 1), new Vector(0, 0, -1));
+        assertEquals("Glass diagonal applied twice", 0.5, mesh.findTransparency(ray, 1.5, 1, 0.001), 1e-10);
+    }
+
+    /**
+     * @param p a point on the grid of the test
+     * @return true if the point is (almost) on an edge of a cell of the grid, or on the diagonal of a cell
+     */
+    private static boolean onGridEdge(Point3D p) {
+        double x = p.getXValue() - Math.floor(p.getXValue()), y = p.getYValue() - Math.floor(p.getYValue());
+        double tolerance = 1e-4;
+        return Math.min(x, 1 - x) < tolerance || Math.min(y, 1 - y) < tolerance || Math.abs(x - y) < tolerance;
+    }
+
+    /**
+     * @param vertices flat vertices array
+     * @param v index of a vertex
+     * @return the vertex as a point
+     */
+    private static Point3D point(double[] vertices, int v) {
+        return new Point3D(vertices[3 * v], vertices[3 * v + 1], vertices[3 * v + 2]);
+    }
+}
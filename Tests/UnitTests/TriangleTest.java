@@ -1,12 +1,15 @@
 package Tests.UnitTests;
 
 import primitives.*;
+import geometries.Polygon;
 import geometries.Triangle;
 import org.junit.Test;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 import static org.junit.Assert.*;
 
+import static geometries.Intersectable.GeoPoint;
 import static geometries.Intersectable.GeoPoint.convertPointsToGPoints;
 
 /**
@@ -35,7 +38,7 @@ public class TriangleTest {
         // So, The correct Vector (1,-6,12)x(7,-11,13) => (54,71,31)
 
         Vector correctNormal = new Vector(54,71,31);
-        correctNormal.normalize();
+        correctNormal = correctNormal.normalize();
 
         Triangle checkTriangle = new Triangle(firstInPlane, secondInPlane, thirdInPlane);
 
@@ -158,4 +161,48 @@ public class TriangleTest {
         //endregion
 
     }
-}
\ No newline at end of file
+
+    /**
+     * Test method for {@link geometries.Triangle#findClosestIntersection(Ray, double)} - the same results as
+     * the general polygon intersection
+     */
+    @Test
+    public void testFindClosestIntersection() {
+        Point3D p1 = new Point3D(1, 2, -3), p2 = new Point3D(-5, 7, -4), p3 = new Point3D(2, -4, 9);
+        Triangle triangle = new Triangle(p1, p2, p3);
+        Polygon polygon = new Polygon(p1, p2, p3);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Random rays from around the triangle hit the same points as with the polygon
+        Random random = new Random(3);
+        int hits = 0;
+        for (int i = 0; i < 500; ++i) {
+            Point3D start = new Point3D(20 * random.nextDouble() - 10, 20 * random.nextDouble() - 10,
+                    20 * random.nextDouble() - 10);
+            Ray ray = new Ray(start, new Point3D(0, 2, 0).subtract(start).add(
+                    new Vector(8 * random.nextDouble() - 4, 8 * random.nextDouble() - 4, 8 * random.nextDouble() - 4)));
+            GeoPoint expected = polygon.findClosestIntersection(ray);
+            GeoPoint actual = triangle.findClosestIntersection(ray);
+            if (expected == null) {
+                assertNull("Triangle hit where the polygon was missed (TC01)", actual);
+                continue;
+            }
+            ++hits;
+            assertNotNull("Triangle missed where the polygon was hit (TC01)", actual);
+            assertEquals("Wrong intersection point (TC01)", 0, expected.point.distance(actual.point), 1e-9);
+            assertSame("Wrong intersected geometry (TC01)", triangle, actual.geometry);
+        }
+        assertTrue("Too few rays hit the triangle", hits > 50);
+
+        // =============== Boundary Values Tests ==================
+        // TC11: The intersection is at the max distance - ignored
+        Ray ray = new Ray(new Point3D(-1.5, -1, 2), new Vector(0, 0, -1));
+        Triangle flat = new Triangle(new Point3D(0, -2, 0), new Point3D(-2, 0, 0), new Point3D(-2, -2, 0));
+        assertNull("Intersection at the max distance found (TC11)", flat.findClosestIntersection(ray, 2));
+        assertNotNull("Intersection before the max distance not found (TC11)", flat.findClosestIntersection(ray, 2.5));
+
+        // TC12: The ray is parallel to the triangle
+        assertNull("Parallel ray has intersections (TC12)",
+                flat.findClosestIntersection(new Ray(new Point3D(-3, -1.5, 0), new Vector(1, 0, 0))));
+    }
+}
@@ -0,0 +1,47 @@
+package Tests.UnitTests;
+
+import primitives.*;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for Vec3 - the mutable vector must give the same results as the immutable Vector
+ */
+public class Vec3Test {
+
+    final Vector v1 = new Vector(1, 2, 3);
+    final Vector v2 = new Vector(0, 3, -2);
+
+    /**
+     * Test method for {@link Vec3#subtractScaled(Vector, double)}
+     */
+    @Test
+    public void testSubtractScaled() {
+        // ============ Equivalence Partitions Tests ==============
+        Vec3 v = new Vec3(v1);
+        assertSame("ERROR: subtractScaled() should return the object itself", v, v.subtractScaled(v2, 2));
+        assertEquals("ERROR: subtractScaled() wrong value", v1.subtract(v2.scale(2)), v.toVector());
+
+        // =============== Boundary Values Tests ==================
+        // the result is the zero vector - allowed for a scratch vector, but not as a Vector
+        v.set(v1).subtractScaled(v1, 1);
+        assertEquals("ERROR: subtractScaled() wrong zero length", 0, v.lengthSquared(), 0);
+        try {
+            v.toVector();
+            fail("toVector() does not throw an exception for the zero vector");
+        } catch (IllegalArgumentException e) {}
+    }
+
+    /**
+     * Test method for {@link Vec3#normalize()}
+     */
+    @Test
+    public void testNormalize() {
+        // ============ Equivalence Partitions Tests ==============
+        Vec3 v = new Vec3(v1).normalize();
+        assertEquals("ERROR: normalize() result is not a unit vector", 1, v.length(), 1e-10);
+        assertEquals("ERROR: normalize() wrong value", new Vector(v1).normalize(), v.toVector());
+        assertEquals("ERROR: dotProduct() wrong value", v1.dotProduct(v2), new Vec3(v1).dotProduct(v2), 0);
+    }
+}
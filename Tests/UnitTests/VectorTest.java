@@ -130,11 +130,11 @@ public class VectorTest {
         Vector v = new Vector(1, 2, 3);
         Vector vCopy = new Vector(v);
         Vector vCopyNormalize = vCopy.normalize();
-        // to check the difference between normalize() and normalized()
-        // normalize() - calculate the value on the same instance
-        // normalized() - calculate the value and returns new instance
-        assertSame("ERROR: normalize() function creates a new vector", vCopy, vCopyNormalize);
+        // vectors are immutable - normalize() returns a new vector and leaves the original as is
+        assertNotSame("ERROR: normalize() function changes the vector itself", vCopy, vCopyNormalize);
+        assertEquals("ERROR: normalize() changed the original vector", v, vCopy);
         assertTrue("ERROR: normalize() result is not a unit vector", isZero(vCopyNormalize.length() - 1));
+        assertEquals("ERROR: normalize() wrong direction", v.length(), vCopyNormalize.dotProduct(v), 1e-10);
     }
 
     /**
@@ -158,6 +158,30 @@ public class Camera {
     public List<Ray> constructRaysThroughPixelEdges(int nX, int nY,
                                                int j, int i, double screenDistance,
                                                double screenWidth, double screenHeight) {
+        List<Ray> ret = new LinkedList<>();
+        for (int r=0; r<=1; ++r)
+            for (int c=0; c<=1; ++c)
+                //in order to obtain the specific point (upper left/right lower left/right)
+                ret.add(constructRayThroughCorner(nX, nY, j + r, i + c, screenDistance, screenWidth, screenHeight));
+        return ret;
+    }
+
+    /**
+     * Constructs a ray through a corner of the pixels grid of the view plane.
+     * The corner (x, y) of a grid is the same point as the corner (2x, 2y) of a grid with
+     * twice the resolution, and both give exactly the same ray
+     * @param nX             Total number columns
+     * @param nY             Total number rows
+     * @param x              Column of the corner (0 - left edge, nX - right edge)
+     * @param y              Row of the corner (0 - top edge, nY - bottom edge)
+     * @param screenDistance Distance from camera to the view plane
+     * @param screenWidth    Width of the screen
+     * @param screenHeight   Height of the screen
+     * @return A ray from the camera through the given corner
+     */
+    public Ray constructRayThroughCorner(int nX, int nY,
+                                         int x, int y, double screenDistance,
+                                         double screenWidth, double screenHeight) {
         Point3D pCenter = position.add(vTo.scale(screenDistance));
         //getting the topLeft cell by using the central pixel to move [up + left]
         Point3D topLeft = pCenter.add(vRight.scale(-screenWidth/2));
@@ -167,21 +191,14 @@ public class Camera {
         double rX = screenWidth / nX;
         double rY = screenHeight / nY;
 
-        List<Ray> ret = new LinkedList<>();
-        Point3D offset;
-        for (int r=0; r<=1; ++r)
-            for (int c=0; c<=1; ++c) {
-                //in order to obtain the specific point (upper left/right lower left/right)
-                double s1 = rX*(j + r); //moving point right j+1 steps if r=1
-                double s2 = -rY*(i + c); //moving the point down i+1 steps if c=1
-
-                //Avoiding multiplication by zero
-                offset = s1 == 0? topLeft : topLeft.add(vRight.scale(s1));
-                offset = s2 == 0? offset : offset.add(vUp.scale(s2));
-                Vector dir = offset.subtract(position);
-                ret.add(new Ray(position, dir));
-            }
-        return ret;
+        double s1 = rX*x; //moving point right x steps
+        double s2 = -rY*y; //moving the point down y steps
+
+        //Avoiding multiplication by zero
+        Point3D offset = s1 == 0? topLeft : topLeft.add(vRight.scale(s1));
+        offset = s2 == 0? offset : offset.add(vUp.scale(s2));
+        Vector dir = offset.subtract(position);
+        return new Ray(position, dir);
     }
     //endregion
 
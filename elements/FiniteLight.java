@@ -13,6 +13,10 @@ public abstract class FiniteLight extends Light implements LightSource {
     // light's intersections with shadow rays
     protected double radius;
 
+    // The angle between consecutive points of the sampling pattern - pi * (3 - sqrt(5))
+    private static final double GOLDEN_ANGLE = Math.PI * (3 - Math.sqrt(5));
+    private volatile double[] diskPattern = null; // see getDiskPattern
+
     //region Constructors
 
     /**
@@ -31,4 +35,31 @@ public abstract class FiniteLight extends Light implements LightSource {
     public double getRadius() {
         return radius;
     }
+
+    /**
+     * Sampling pattern of the light's disk for the soft shadows - it's generated once
+     * (for a given amount of samples) and shared by all the shaded points, which only map it
+     * onto the disk facing them.
+     * The points are laid on Vogel's (golden angle) spiral: every point covers the same area
+     * of the disk and consecutive points are far from each other, so the pattern has low
+     * discrepancy and fewer rays give the same shadow quality
+     * @param samples the amount of points
+     * @return the points in the unit disk as {x0, y0, x1, y1, ...} - the array must not be changed
+     */
+    public double[] getDiskPattern(int samples) {
+        if (samples <= 0) throw new IllegalArgumentException("Amount of samples must be positive");
+        double[] pattern = diskPattern;
+        if (pattern == null || pattern.length != 2 * samples) {
+            // building twice by racing threads is harmless - both build the same pattern
+            pattern = new double[2 * samples];
+            for (int k = 0; k < samples; ++k) {
+                double r = Math.sqrt((k + 0.5) / samples);
+                double theta = k * GOLDEN_ANGLE;
+                pattern[2 * k] = r * Math.cos(theta);
+                pattern[2 * k + 1] = r * Math.sin(theta);
+            }
+            diskPattern = pattern;
+        }
+        return pattern;
+    }
 }
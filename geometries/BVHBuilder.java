@@ -0,0 +1,419 @@
+package geometries;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.IntStream;
+
+/**
+ * Constructs the bounding volume hierarchy of Geometries (or of the faces of a {@link TriangleMesh}).
+ * The boxes and their centers are copied once into flat arrays and the shapes are
+ * partitioned by index, so the construction does not allocate per shape and per level.
+ * Big ranges are built in parallel as fork/join tasks.
+ * Two strategies are supported (see {@link Geometries.BVHMode}):
+ * <ul>
+ * <li>MEDIAN - split at the median center on the widest axis (fast to build)</li>
+ * <li>SAH - binned surface area heuristic (slower to build, cheaper to traverse)</li>
+ * </ul>
+ */
+class BVHBuilder {
+    // Leaf size of the median split
+    private static final int MEDIAN_LEAF_SIZE = 2;
+    // Maximal leaf size of the SAH split - a bigger range is always split
+    private static final int SAH_MAX_LEAF_SIZE = 8;
+    // Amount of buckets the centers are binned into on every axis
+    private static final int SAH_BINS = 16;
+    // Relative costs of visiting a node and of intersecting a shape in the SAH
+    static final double TRAVERSAL_COST = 1;
+    static final double INTERSECTION_COST = 2;
+    // Ranges smaller than that are built in the current thread
+    private static final int PARALLEL_THRESHOLD = 4096;
+
+    private final Intersectable[] shapes;
+    private final Geometries.BVHMode mode;
+    // boxes[6i..6i+5] = minX, minY, minZ, maxX, maxY, maxZ of shape i
+    private final double[] boxes;
+    // centers[3i..3i+2] = center of the box of shape i
+    private final double[] centers;
+    // the shapes are partitioned through this index array
+    private final int[] index;
+
+    /**
+     * Constructor - copies the boxes of the shapes into the flat arrays
+     * @param shapes the shapes to put in the tree, all of them must have a bounding box
+     * @param mode the split strategy
+     */
+    BVHBuilder(List<Intersectable> shapes, Geometries.BVHMode mode) {
+        this.shapes = shapes.toArray(new Intersectable[0]);
+        this.mode = mode;
+        int n = this.shapes.length;
+        boxes = new double[6 * n];
+        centers = new double[3 * n];
+        index = new int[n];
+        // Every shape writes its own slots - the boxes can be gathered in parallel
+        IntStream.range(0, n).parallel().forEach(i -> {
+            BoundingBox box = this.shapes[i].getBoundingBox();
+            for (int axis = 0; axis < 3; ++axis) {
+                boxes[6 * i + axis] = box.getMin(axis);
+                boxes[6 * i + 3 + axis] = box.getMax(axis);
+                centers[3 * i + axis] = box.getCenter(axis);
+            }
+            index[i] = i;
+        });
+    }
+
+    /**
+     * Constructor for parts which are given only by their boxes - the parts of a single shape,
+     * which don't have an object each (see {@link BVHBuilder#buildFlat()})
+     * @param boxes boxes[6i..6i+5] = minX, minY, minZ, maxX, maxY, maxZ of part i
+     * @param mode the split strategy
+     */
+    BVHBuilder(double[] boxes, Geometries.BVHMode mode) {
+        this.shapes = null;
+        this.mode = mode;
+        this.boxes = boxes;
+        int n = boxes.length / 6;
+        centers = new double[3 * n];
+        index = new int[n];
+        for (int i = 0; i < n; ++i) {
+            for (int axis = 0; axis < 3; ++axis)
+                centers[3 * i + axis] = (boxes[6 * i + axis] + boxes[6 * i + 3 + axis]) / 2;
+            index[i] = i;
+        }
+    }
+
+    /**
+     * A hierarchy in flat arrays, without an object per node. The nodes are in depth-first order,
+     * so the left child of an inner node is the node right after it
+     */
+    static class FlatTree {
+        // boxes[6i..6i+5] = minX, minY, minZ, maxX, maxY, maxZ of node i
+        final double[] boxes;
+        // nodes[2i], nodes[2i+1] = inner node: the index of the right child, 0
+        //                          leaf: the position of its first part in the order, amount of parts
+        final int[] nodes;
+        // the parts, ordered so that the parts of every leaf are consecutive
+        final int[] order;
+
+        FlatTree(double[] boxes, int[] nodes, int[] order) {
+            this.boxes = boxes;
+            this.nodes = nodes;
+            this.order = order;
+        }
+    }
+
+    /**
+     * Builds the hierarchy in flat arrays (in the current thread)
+     * @return the hierarchy, with no nodes if there are no parts
+     */
+    FlatTree buildFlat() {
+        int n = index.length;
+        // a binary tree with n leaves at most has 2n-1 nodes
+        int maxNodes = Math.max(1, 2 * n - 1);
+        double[] nodeBoxes = new double[6 * maxNodes];
+        int[] nodes = new int[2 * maxNodes];
+        int count = n == 0 ? 0 : buildFlat(0, n, nodeBoxes, nodes, 0);
+        return new FlatTree(Arrays.copyOf(nodeBoxes, 6 * count), Arrays.copyOf(nodes, 2 * count), index);
+    }
+
+    /**
+     * Builds the hierarchy
+     * @return root of the hierarchy, null if there are no shapes
+     */
+    BVHNode build() {
+        if (shapes.length == 0)
+            return null;
+        if (shapes.length < PARALLEL_THRESHOLD)
+            return build(0, shapes.length);
+        return ForkJoinPool.commonPool().invoke(new BuildTask(0, shapes.length));
+    }
+
+    /**
+     * Fork/join task building the sub-hierarchy of index[from, to)
+     */
+    @SuppressWarnings("serial") // captures the enclosing instance, never serialized
+    private class BuildTask extends RecursiveTask<BVHNode> {
+        private final int from, to;
+
+        BuildTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected BVHNode compute() {
+            return build(from, to);
+        }
+    }
+
+    //region Construction
+
+    /**
+     * Recursive construction of the sub-hierarchy of index[from, to)
+     * @param from first index (inclusive)
+     * @param to last index (exclusive)
+     * @return root of the sub-hierarchy
+     */
+    private BVHNode build(int from, int to) {
+        int mid = mode == Geometries.BVHMode.SAH ? splitSAH(from, to) : splitMedian(from, to);
+        if (mid < 0)
+            return makeLeaf(from, to);
+
+        if (to - from >= PARALLEL_THRESHOLD) {
+            BuildTask leftTask = new BuildTask(from, mid);
+            leftTask.fork();
+            BVHNode right = build(mid, to);
+            return new BVHNode(leftTask.join(), right);
+        }
+        return new BVHNode(build(from, mid), build(mid, to));
+    }
+
+    /**
+     * Recursive construction of the flat sub-hierarchy of index[from, to)
+     * @param from first index (inclusive)
+     * @param to last index (exclusive)
+     * @param nodeBoxes the boxes of the nodes
+     * @param nodes the children (or parts) of the nodes
+     * @param node the index of the root of the sub-hierarchy
+     * @return the index of the node after the last node of the sub-hierarchy
+     */
+    private int buildFlat(int from, int to, double[] nodeBoxes, int[] nodes, int node) {
+        System.arraycopy(rangeBounds(from, to, boxes, 6), 0, nodeBoxes, 6 * node, 6);
+        int mid = mode == Geometries.BVHMode.SAH ? splitSAH(from, to) : splitMedian(from, to);
+        if (mid < 0) {
+            nodes[2 * node] = from;
+            nodes[2 * node + 1] = to - from;
+            return node + 1;
+        }
+        int right = buildFlat(from, mid, nodeBoxes, nodes, node + 1);
+        nodes[2 * node] = right;
+        nodes[2 * node + 1] = 0;
+        return buildFlat(mid, to, nodeBoxes, nodes, right);
+    }
+
+    /**
+     * Creates a leaf from index[from, to)
+     * @param from first index (inclusive)
+     * @param to last index (exclusive)
+     * @return the leaf node
+     */
+    private BVHNode makeLeaf(int from, int to) {
+        double[] bounds = rangeBounds(from, to, boxes, 6);
+        Intersectable[] leafShapes = new Intersectable[to - from];
+        for (int i = from; i < to; ++i)
+            leafShapes[i - from] = shapes[index[i]];
+        return new BVHNode(new BoundingBox(bounds[0], bounds[1], bounds[2], bounds[3], bounds[4], bounds[5]),
+                leafShapes);
+    }
+
+    /**
+     * Median split - partitions the range around the median center on the axis
+     * where the centers are spread the most
+     * @param from first index (inclusive)
+     * @param to last index (exclusive)
+     * @return the split position, -1 if the range should be a leaf
+     */
+    private int splitMedian(int from, int to) {
+        if (to - from <= MEDIAN_LEAF_SIZE)
+            return -1;
+        int axis = widestAxis(rangeBounds(from, to, centers, 3));
+        int mid = (from + to) >>> 1;
+        select(from, to - 1, mid, axis);
+        return mid;
+    }
+
+    /**
+     * Binned SAH split - the centers are binned into equal buckets on every axis and the
+     * bucket border with the lowest estimated traversal cost is chosen.
+     * The range becomes a leaf when it is small enough and splitting does not pay off
+     * @param from first index (inclusive)
+     * @param to last index (exclusive)
+     * @return the split position, -1 if the range should be a leaf
+     */
+    private int splitSAH(int from, int to) {
+        int n = to - from;
+        if (n <= 2)
+            return -1;
+        double[] centerBounds = rangeBounds(from, to, centers, 3);
+        double parentArea = surfaceArea(rangeBounds(from, to, boxes, 6), 0);
+
+        int bestAxis = -1, bestBin = -1;
+        double bestCost = Double.POSITIVE_INFINITY;
+        int[] counts = new int[SAH_BINS];
+        double[] binBoxes = new double[6 * SAH_BINS];
+        double[] rightArea = new double[SAH_BINS];
+        int[] rightCount = new int[SAH_BINS];
+        for (int axis = 0; axis < 3; ++axis) {
+            double min = centerBounds[axis], extent = centerBounds[3 + axis] - min;
+            if (extent <= 0)
+                continue;
+            double scale = SAH_BINS / extent;
+
+            // Fill the bins
+            Arrays.fill(counts, 0);
+            for (int b = 0; b < SAH_BINS; ++b)
+                emptyBounds(binBoxes, 6 * b);
+            for (int i = from; i < to; ++i) {
+                int s = index[i];
+                int b = Math.min(SAH_BINS - 1, (int) ((centers[3 * s + axis] - min) * scale));
+                ++counts[b];
+                growBounds(binBoxes, 6 * b, boxes, 6 * s);
+            }
+
+            // Sweep from the right to get the area and count right of every border
+            double[] acc = new double[6];
+            emptyBounds(acc, 0);
+            int count = 0;
+            for (int b = SAH_BINS - 1; b > 0; --b) {
+                growBounds(acc, 0, binBoxes, 6 * b);
+                count += counts[b];
+                rightArea[b] = count == 0 ? 0 : surfaceArea(acc, 0);
+                rightCount[b] = count;
+            }
+
+            // Sweep from the left and evaluate every border
+            emptyBounds(acc, 0);
+            count = 0;
+            for (int b = 0; b < SAH_BINS - 1; ++b) {
+                growBounds(acc, 0, binBoxes, 6 * b);
+                count += counts[b];
+                if (count == 0 || rightCount[b + 1] == 0)
+                    continue;
+                double cost = surfaceArea(acc, 0) * count + rightArea[b + 1] * rightCount[b + 1];
+                if (cost < bestCost) {
+                    bestCost = cost;
+                    bestAxis = axis;
+                    bestBin = b;
+                }
+            }
+        }
+
+        if (bestAxis < 0) // All the centers are in the same place - no border separates them
+            return n <= SAH_MAX_LEAF_SIZE ? -1 : (from + to) >>> 1;
+
+        // A flat range (all the boxes are points) can't be estimated by area - just split it
+        double splitCost = parentArea > 0 ? TRAVERSAL_COST + INTERSECTION_COST * bestCost / parentArea : 0;
+        if (n <= SAH_MAX_LEAF_SIZE && INTERSECTION_COST * n <= splitCost)
+            return -1;
+
+        // Partition: bins [0, bestBin] go to the left
+        double min = centerBounds[bestAxis];
+        double scale = SAH_BINS / (centerBounds[3 + bestAxis] - min);
+        int left = from, right = to - 1;
+        while (left <= right) {
+            int s = index[left];
+            int b = Math.min(SAH_BINS - 1, (int) ((centers[3 * s + bestAxis] - min) * scale));
+            if (b <= bestBin)
+                ++left;
+            else {
+                index[left] = index[right];
+                index[right--] = s;
+            }
+        }
+        return left;
+    }
+    //endregion
+
+    //region Helpful functions
+
+    /**
+     * Quickselect - reorders index[left..right] so that the element at k is the one that would be there
+     * if the range was sorted by the center on the given axis
+     * @param left first index (inclusive)
+     * @param right last index (inclusive)
+     * @param k the wanted position
+     * @param axis the sort axis
+     */
+    private void select(int left, int right, int k, int axis) {
+        while (right > left) {
+            double pivot = centers[3 * index[(left + right) >>> 1] + axis];
+            int i = left, j = right;
+            while (i <= j) {
+                while (centers[3 * index[i] + axis] < pivot) ++i;
+                while (centers[3 * index[j] + axis] > pivot) --j;
+                if (i <= j) {
+                    int tmp = index[i];
+                    index[i++] = index[j];
+                    index[j--] = tmp;
+                }
+            }
+            if (k <= j) right = j;
+            else if (k >= i) left = i;
+            else return;
+        }
+    }
+
+    /**
+     * Bounds of index[from, to) in a flat array of points (stride 3) or boxes (stride 6)
+     * @param from first index (inclusive)
+     * @param to last index (exclusive)
+     * @param values the flat array
+     * @param stride 3 for points, 6 for boxes
+     * @return {minX, minY, minZ, maxX, maxY, maxZ}
+     */
+    private double[] rangeBounds(int from, int to, double[] values, int stride) {
+        double[] bounds = new double[6];
+        emptyBounds(bounds, 0);
+        int maxOffset = stride == 6 ? 3 : 0;
+        for (int i = from; i < to; ++i) {
+            int s = stride * index[i];
+            for (int axis = 0; axis < 3; ++axis) {
+                bounds[axis] = Math.min(bounds[axis], values[s + axis]);
+                bounds[3 + axis] = Math.max(bounds[3 + axis], values[s + maxOffset + axis]);
+            }
+        }
+        return bounds;
+    }
+
+    /**
+     * @param bounds {minX, minY, minZ, maxX, maxY, maxZ}
+     * @return the axis with the biggest extent
+     */
+    private static int widestAxis(double[] bounds) {
+        int axis = 0;
+        for (int a = 1; a < 3; ++a)
+            if (bounds[3 + a] - bounds[a] > bounds[3 + axis] - bounds[axis])
+                axis = a;
+        return axis;
+    }
+
+    /**
+     * Resets a flat box to the empty box (min = +inf, max = -inf)
+     * @param box the flat boxes array
+     * @param offset offset of the box in the array
+     */
+    private static void emptyBounds(double[] box, int offset) {
+        for (int axis = 0; axis < 3; ++axis) {
+            box[offset + axis] = Double.POSITIVE_INFINITY;
+            box[offset + 3 + axis] = Double.NEGATIVE_INFINITY;
+        }
+    }
+
+    /**
+     * Grows a flat box to contain another flat box
+     * @param box the flat boxes array to grow
+     * @param offset offset of the grown box in the array
+     * @param other the flat boxes array of the added box
+     * @param otherOffset offset of the added box in its array
+     */
+    private static void growBounds(double[] box, int offset, double[] other, int otherOffset) {
+        for (int axis = 0; axis < 3; ++axis) {
+            box[offset + axis] = Math.min(box[offset + axis], other[otherOffset + axis]);
+            box[offset + 3 + axis] = Math.max(box[offset + 3 + axis], other[otherOffset + 3 + axis]);
+        }
+    }
+
+    /**
+     * @param box flat boxes array
+     * @param offset offset of the box in the array
+     * @return surface area of the box
+     */
+    private static double surfaceArea(double[] box, int offset) {
+        double dx = box[offset + 3] - box[offset];
+        double dy = box[offset + 4] - box[offset + 1];
+        double dz = box[offset + 5] - box[offset + 2];
+        return 2 * (dx * dy + dy * dz + dz * dx);
+    }
+    //endregion
+}
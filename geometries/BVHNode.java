@@ -0,0 +1,180 @@
+package geometries;
+
+import primitives.*;
+import java.util.List;
+import static geometries.Intersectable.GeoPoint;
+
+/**
+ * A node in the bounding volume hierarchy (BVH) of Geometries.
+ * Inner nodes hold two children, leaves hold a few shapes.
+ * Every node holds the box of everything below it, so a ray that misses
+ * the box skips the whole subtree
+ */
+class BVHNode {
+    final BoundingBox box;
+    final BVHNode left, right;
+    final Intersectable[] shapes; // null for inner nodes
+
+    //region Constructors
+
+    /**
+     * Inner node constructor
+     * @param left first child
+     * @param right second child
+     */
+    BVHNode(BVHNode left, BVHNode right) {
+        this.box = left.box.union(right.box);
+        this.left = left;
+        this.right = right;
+        this.shapes = null;
+    }
+
+    /**
+     * Leaf constructor
+     * @param box the box of all the shapes in the leaf
+     * @param shapes the shapes in the leaf
+     */
+    BVHNode(BoundingBox box, Intersectable[] shapes) {
+        this.box = box;
+        this.left = null;
+        this.right = null;
+        this.shapes = shapes;
+    }
+    //endregion
+
+    //region Statistics
+
+    /**
+     * @return the amount of nodes in the sub-hierarchy (including this one)
+     */
+    int countNodes() {
+        return shapes != null ? 1 : 1 + left.countNodes() + right.countNodes();
+    }
+
+    /**
+     * @return the amount of leaves in the sub-hierarchy
+     */
+    int countLeaves() {
+        return shapes != null ? 1 : left.countLeaves() + right.countLeaves();
+    }
+
+    /**
+     * @return the length of the longest path from this node to a leaf (a leaf has depth 1)
+     */
+    int depth() {
+        return shapes != null ? 1 : 1 + Math.max(left.depth(), right.depth());
+    }
+
+    /**
+     * The surface area heuristic cost of the sub-hierarchy: the probability to visit a node is estimated
+     * by the ratio between its surface area and the root surface area
+     * @param rootArea surface area of the root box
+     * @return the estimated cost of tracing a ray through the sub-hierarchy
+     */
+    double sahCost(double rootArea) {
+        double p = rootArea > 0 ? box.getSurfaceArea() / rootArea : 1;
+        if (shapes != null)
+            return p * BVHBuilder.INTERSECTION_COST * shapes.length;
+        return p * BVHBuilder.TRAVERSAL_COST + left.sahCost(rootArea) + right.sahCost(rootArea);
+    }
+    //endregion
+
+    //region Traversal
+
+    /**
+     * Collects the intersections of the ray with all the shapes whose boxes are hit by the ray
+     * @param ray the given ray
+     * @param result list to add the intersections into
+     * @param counter listener of the intersection tests, may be null
+     */
+    void findIntersections(Ray ray, List<GeoPoint> result, IntersectionCounter counter) {
+        if (!box.intersects(ray, Double.POSITIVE_INFINITY))
+            return;
+        if (shapes == null) {
+            left.findIntersections(ray, result, counter);
+            right.findIntersections(ray, result, counter);
+            return;
+        }
+        for (Intersectable shape : shapes) {
+            Geometries.countTest(counter, shape);
+            List<GeoPoint> temp = shape.findIntersections(ray);
+            if (temp != null)
+                result.addAll(temp);
+        }
+    }
+
+    /**
+     * Shadow traversal - any order, but the traversal ends once the light is blocked
+     * @param ray the shadow ray
+     * @param maxT the distance to the light
+     * @param ktr the transparency factor accumulated so far
+     * @param minKtr a factor under this value is considered as a full shadow
+     * @param counter listener of the intersection tests, may be null
+     * @return the transparency factor after the shapes of the sub-hierarchy, 0 if the light is blocked
+     */
+    double findTransparency(Ray ray, double maxT, double ktr, double minKtr, IntersectionCounter counter) {
+        if (!box.intersects(ray, maxT))
+            return ktr;
+        if (shapes == null) {
+            ktr = left.findTransparency(ray, maxT, ktr, minKtr, counter);
+            return ktr == 0 ? 0 : right.findTransparency(ray, maxT, ktr, minKtr, counter);
+        }
+        for (Intersectable shape : shapes) {
+            Geometries.countTest(counter, shape);
+            ktr = shape.findTransparency(ray, maxT, ktr, minKtr);
+            if (ktr == 0)
+                return 0;
+        }
+        return ktr;
+    }
+
+    /**
+     * Running state of a closest-hit traversal - the nearest intersection found so far
+     */
+    static class ClosestHit {
+        GeoPoint point = null;
+        double t;
+
+        /**
+         * @param maxT intersections at this distance or further are ignored
+         */
+        ClosestHit(double maxT) {
+            t = maxT;
+        }
+    }
+
+    /**
+     * Closest-hit traversal: the nearer child is visited first, and a child whose box is entered
+     * after the closest intersection found so far is skipped.
+     * The box of this node must be already tested by the caller
+     * @param ray the given ray
+     * @param hit the nearest intersection so far, updated by the traversal
+     * @param counter listener of the intersection tests, may be null
+     */
+    void findClosestIntersection(Ray ray, ClosestHit hit, IntersectionCounter counter) {
+        if (shapes != null) {
+            for (Intersectable shape : shapes) {
+                Geometries.countTest(counter, shape);
+                GeoPoint gp = shape.findClosestIntersection(ray, hit.t);
+                if (gp != null) {
+                    hit.t = ray.getStart().distance(gp.point);
+                    hit.point = gp;
+                }
+            }
+            return;
+        }
+        double tLeft = left.box.findEntry(ray, hit.t);
+        double tRight = right.box.findEntry(ray, hit.t);
+        BVHNode near = left, far = right;
+        if (tRight < tLeft) {
+            near = right;
+            far = left;
+            double tmp = tLeft; tLeft = tRight; tRight = tmp;
+        }
+        if (tLeft < hit.t)
+            near.findClosestIntersection(ray, hit, counter);
+        if (tRight < hit.t) // the near child may have found something before the far box
+            far.findClosestIntersection(ray, hit, counter);
+    }
+    //endregion
+}
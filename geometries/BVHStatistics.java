@@ -0,0 +1,103 @@
+package geometries;
+
+/**
+ * Summary of a bounding volume hierarchy construction.
+ * Helps to choose between the fast-build and the high-quality mode of a scene
+ * (see {@link Geometries#buildBVH(Geometries.BVHMode)})
+ */
+public class BVHStatistics {
+    private final Geometries.BVHMode mode;
+    private final int shapes;
+    private final int unboundedShapes;
+    private final int nodes;
+    private final int leaves;
+    private final int depth;
+    private final double sahCost;
+    private final long buildMillis;
+
+    /**
+     * Constructor
+     * @param mode the strategy the hierarchy was built with
+     * @param shapes amount of shapes in the hierarchy
+     * @param unboundedShapes amount of infinite shapes kept outside the hierarchy
+     * @param root the root of the hierarchy (may be null if there are no bounded shapes)
+     * @param buildMillis the construction time in milliseconds
+     */
+    BVHStatistics(Geometries.BVHMode mode, int shapes, int unboundedShapes, BVHNode root, long buildMillis) {
+        this.mode = mode;
+        this.shapes = shapes;
+        this.unboundedShapes = unboundedShapes;
+        this.nodes = root == null ? 0 : root.countNodes();
+        this.leaves = root == null ? 0 : root.countLeaves();
+        this.depth = root == null ? 0 : root.depth();
+        this.sahCost = root == null ? 0 : root.sahCost(root.box.getSurfaceArea());
+        this.buildMillis = buildMillis;
+    }
+
+    //region Getters
+
+    /**
+     * @return the strategy the hierarchy was built with
+     */
+    public Geometries.BVHMode getMode() {
+        return mode;
+    }
+
+    /**
+     * @return amount of shapes in the hierarchy
+     */
+    public int getShapes() {
+        return shapes;
+    }
+
+    /**
+     * @return amount of infinite shapes which are tested by every ray
+     */
+    public int getUnboundedShapes() {
+        return unboundedShapes;
+    }
+
+    /**
+     * @return amount of nodes (inner nodes and leaves)
+     */
+    public int getNodes() {
+        return nodes;
+    }
+
+    /**
+     * @return amount of leaves
+     */
+    public int getLeaves() {
+        return leaves;
+    }
+
+    /**
+     * @return the length of the longest path from the root to a leaf
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * @return estimated cost of tracing a ray through the hierarchy (lower is better),
+     * in units of a single node visit
+     */
+    public double getSahCost() {
+        return sahCost;
+    }
+
+    /**
+     * @return the construction time in milliseconds
+     */
+    public long getBuildMillis() {
+        return buildMillis;
+    }
+    //endregion
+
+    @Override
+    public String toString() {
+        return "BVH " + mode + ": shapes=" + shapes + ", unbounded=" + unboundedShapes + ", nodes=" + nodes
+                + ", leaves=" + leaves + ", depth=" + depth + ", SAH cost=" + String.format("%.2f", sahCost)
+                + ", build=" + buildMillis + "ms";
+    }
+}
@@ -0,0 +1,184 @@
+package geometries;
+
+import primitives.*;
+
+/**
+ * Represents an axis-aligned bounding box (AABB) in the 3D space.
+ * Used by the acceleration structures in order to reject a ray
+ * before running the full intersection calculation of the shapes inside the box
+ */
+public class BoundingBox {
+    private final double minX, minY, minZ;
+    private final double maxX, maxY, maxZ;
+
+    // Rounding slack for the slab test - keeps rays that graze flat boxes (a polygon lying
+    // on an axis plane has zero thickness) from being rejected because of one ulp
+    private static final double SLAB_TOLERANCE = 1 + 1e-12;
+
+    //region Constructors
+
+    /**
+     * Constructor
+     * @param minX lower bound on the X axis
+     * @param minY lower bound on the Y axis
+     * @param minZ lower bound on the Z axis
+     * @param maxX upper bound on the X axis
+     * @param maxY upper bound on the Y axis
+     * @param maxZ upper bound on the Z axis
+     */
+    public BoundingBox(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        if (minX > maxX || minY > maxY || minZ > maxZ)
+            throw new IllegalArgumentException("Minimum corner of a box can't be above its maximum corner");
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.maxX = maxX;
+        this.maxY = maxY;
+        this.maxZ = maxZ;
+    }
+
+    /**
+     * Constructor - the smallest box containing all the given points
+     * @param points one or more points that must lay inside the box
+     */
+    public BoundingBox(Point3D... points) {
+        if (points.length == 0)
+            throw new IllegalArgumentException("A box must contain at least one point");
+        double x0 = Double.POSITIVE_INFINITY, y0 = Double.POSITIVE_INFINITY, z0 = Double.POSITIVE_INFINITY;
+        double x1 = Double.NEGATIVE_INFINITY, y1 = Double.NEGATIVE_INFINITY, z1 = Double.NEGATIVE_INFINITY;
+        for (Point3D p : points) {
+            double x = p.getXValue(), y = p.getYValue(), z = p.getZValue();
+            x0 = Math.min(x0, x); y0 = Math.min(y0, y); z0 = Math.min(z0, z);
+            x1 = Math.max(x1, x); y1 = Math.max(y1, y); z1 = Math.max(z1, z);
+        }
+        minX = x0; minY = y0; minZ = z0;
+        maxX = x1; maxY = y1; maxZ = z1;
+    }
+    //endregion
+
+    //region Getters & Overrides
+
+    /**
+     * @param axis 0 - X, 1 - Y, 2 - Z
+     * @return the lower bound of the box on the given axis
+     */
+    public double getMin(int axis) {
+        return axis == 0 ? minX : axis == 1 ? minY : minZ;
+    }
+
+    /**
+     * @param axis 0 - X, 1 - Y, 2 - Z
+     * @return the upper bound of the box on the given axis
+     */
+    public double getMax(int axis) {
+        return axis == 0 ? maxX : axis == 1 ? maxY : maxZ;
+    }
+
+    /**
+     * @param axis 0 - X, 1 - Y, 2 - Z
+     * @return the center of the box on the given axis
+     */
+    public double getCenter(int axis) {
+        return (getMin(axis) + getMax(axis)) / 2;
+    }
+
+    /**
+     * @return the surface area of the box
+     */
+    public double getSurfaceArea() {
+        double dx = maxX - minX, dy = maxY - minY, dz = maxZ - minZ;
+        return 2 * (dx * dy + dy * dz + dz * dx);
+    }
+
+    @Override
+    public String toString() {
+        return "min=(" + minX + "," + minY + "," + minZ + "), max=(" + maxX + "," + maxY + "," + maxZ + ")";
+    }
+    //endregion
+
+    //region Operations
+
+    /**
+     * @param other another box
+     * @return new box which contains both this box and the other one
+     */
+    public BoundingBox union(BoundingBox other) {
+        return new BoundingBox(Math.min(minX, other.minX), Math.min(minY, other.minY), Math.min(minZ, other.minZ),
+                Math.max(maxX, other.maxX), Math.max(maxY, other.maxY), Math.max(maxZ, other.maxZ));
+    }
+
+    /**
+     * Slab test - checks whether the ray passes through the box before the given distance.
+     * The test uses the inverse direction and the direction signs which the ray keeps,
+     * so a traversal tests a whole tree of boxes without preparing anything
+     * @param ray the tested ray
+     * @param maxT the ray is not interesting beyond this distance
+     * @return true if the ray enters the box in the range (0, maxT)
+     */
+    public boolean intersects(Ray ray, double maxT) {
+        return findEntry(ray, maxT) != Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Slab test which also tells where the ray enters the box - lets a closest-hit traversal visit
+     * the nearer box first. For the parameters, see {@link BoundingBox#intersects(Ray, double)}
+     * @param ray the tested ray
+     * @param maxT the ray is not interesting beyond this distance
+     * @return the distance in which the ray enters the box (0 if it starts inside),
+     * positive infinity if the ray misses the box in the range (0, maxT)
+     */
+    public double findEntry(Ray ray, double maxT) {
+        double tNear = 0, tFar = maxT;
+        for (int axis = 0; axis < 3; ++axis) {
+            double origin = ray.getStart(axis), invDir = ray.getInverseDirection(axis);
+            double min = getMin(axis), max = getMax(axis);
+            if (Double.isInfinite(invDir)) {
+                // Ray is parallel to the slab - it's in or out for the whole way
+                if (origin < min || origin > max)
+                    return Double.POSITIVE_INFINITY;
+                continue;
+            }
+            // the sign of the direction tells which plane of the slab the ray meets first
+            boolean negative = ray.getSign(axis) == 1;
+            double t0 = ((negative ? max : min) - origin) * invDir;
+            double t1 = ((negative ? min : max) - origin) * invDir;
+            if (t0 > tNear) tNear = t0;
+            if (t1 * SLAB_TOLERANCE < tFar) tFar = t1 * SLAB_TOLERANCE;
+            if (tNear > tFar)
+                return Double.POSITIVE_INFINITY;
+        }
+        return tNear;
+    }
+
+    /**
+     * The slab test of {@link BoundingBox#findEntry(Ray, double)} on a box kept in a flat array -
+     * for hierarchies which don't keep an object per box
+     * @param boxes flat array of boxes, as {minX, minY, minZ, maxX, maxY, maxZ} each
+     * @param offset the offset of the box in the array
+     * @param ray the tested ray
+     * @param maxT the ray is not interesting beyond this distance
+     * @return the distance in which the ray enters the box (0 if it starts inside),
+     * positive infinity if the ray misses the box in the range (0, maxT)
+     */
+    static double findEntry(double[] boxes, int offset, Ray ray, double maxT) {
+        double tNear = 0, tFar = maxT;
+        for (int axis = 0; axis < 3; ++axis) {
+            double origin = ray.getStart(axis), invDir = ray.getInverseDirection(axis);
+            if (Double.isInfinite(invDir)) {
+                if (origin < boxes[offset + axis] || origin > boxes[offset + 3 + axis])
+                    return Double.POSITIVE_INFINITY;
+                continue;
+            }
+            // the min plane is at offset + axis and the max plane 3 after it - the sign picks the near one
+            int near = offset + 3 * ray.getSign(axis) + axis, far = offset + 3 * (1 - ray.getSign(axis)) + axis;
+            double t0 = (boxes[near] - origin) * invDir;
+            double t1 = (boxes[far] - origin) * invDir;
+            if (t0 > tNear) tNear = t0;
+            if (t1 * SLAB_TOLERANCE < tFar) tFar = t1 * SLAB_TOLERANCE;
+            if (tNear > tFar)
+                return Double.POSITIVE_INFINITY;
+        }
+        return tNear;
+    }
+    //endregion
+}
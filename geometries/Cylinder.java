@@ -94,6 +94,26 @@ public class Cylinder extends Tube {
         return super.toString() + ", height=" + height;
     }
 
+    @Override
+    protected BoundingBox calcBoundingBox() {
+        // The box of a capped cylinder is the box of its two base discs.
+        // A disc with normal D and radius r stretches r*sqrt(1 - D_axis^2) along each axis
+        Point3D base1 = axisRay.getStart();
+        Point3D base2 = base1.add(axisRay.getDirection().scale(height));
+        Vector d = axisRay.getDirection();
+        double r = getRadius();
+        double ex = r * Math.sqrt(Math.max(0, 1 - d.getXValue() * d.getXValue()));
+        double ey = r * Math.sqrt(Math.max(0, 1 - d.getYValue() * d.getYValue()));
+        double ez = r * Math.sqrt(Math.max(0, 1 - d.getZValue() * d.getZValue()));
+        return new BoundingBox(
+                Math.min(base1.getXValue(), base2.getXValue()) - ex,
+                Math.min(base1.getYValue(), base2.getYValue()) - ey,
+                Math.min(base1.getZValue(), base2.getZValue()) - ez,
+                Math.max(base1.getXValue(), base2.getXValue()) + ex,
+                Math.max(base1.getYValue(), base2.getYValue()) + ey,
+                Math.max(base1.getZValue(), base2.getZValue()) + ez);
+    }
+
     @Override
     public List<GeoPoint> findIntersections(Ray ray) {
         // Workflow: check for intersections with the tube, then determine if the points are in the cylinder case.
@@ -123,10 +143,90 @@ public class Cylinder extends Tube {
         return ret;
     }
 
+    @Override
+    public GeoPoint findClosestIntersection(Ray ray, double maxT) {
+        // Same workflow as findIntersections(), keeping only the nearest t found so far -
+        // the side is solved here, so no list of points is built
+        Point3D start = ray.getStart();
+        GeoPoint closest = null;
+        double t = findSideIntersection(ray, maxT);
+        if (t < maxT) {
+            maxT = t;
+            closest = new GeoPoint(this, start.add(ray.getDirection().scale(t)));
+        }
+        Point3D[] centers = {axisRay.getStart(), axisRay.getStart().add(axisRay.getDirection().scale(height))};
+        for (Point3D center : centers) {
+            GeoPoint base = findBaseIntersection(center, ray, maxT);
+            if (base != null) {
+                maxT = start.distance(base.point);
+                closest = base;
+            }
+        }
+        return closest;
+    }
+
     //endregion
 
     // region Private functions
 
+    /**
+     * Finds the nearest intersection of a ray with the side of the cylinder, between the bases.
+     * Solves the equation of the tube (see {@link Tube#findIntersections(Ray)}), and checks the height
+     * of the roots in t order - the height of the point at t is h0 + t*hV along the center line
+     * @param ray The given ray
+     * @param maxT intersections at this distance or further are ignored
+     * @return the distance of the intersection, positive infinity if there is none in the range (0, maxT)
+     */
+    private double findSideIntersection(Ray ray, double maxT) {
+        Point3D start = ray.getStart();
+        Point3D base = axisRay.getStart();
+        Vector dir = ray.getDirection();
+        Vector axis = axisRay.getDirection();
+        Vector K;
+        try {
+            K = dir.crossProduct(axis);
+        } catch (IllegalArgumentException e) {
+            return Double.POSITIVE_INFINITY; // Ray is parallel to the center line - it meets the bases only
+        }
+        double h0 = axis.getXValue() * (start.getXValue() - base.getXValue())
+                + axis.getYValue() * (start.getYValue() - base.getYValue())
+                + axis.getZValue() * (start.getZValue() - base.getZValue());
+        double hV = axis.dotProduct(dir);
+
+        double t1, t2; // t2 <= t1
+        Vector E = null;
+        try {
+            E = start.subtract(base).crossProduct(axis);
+        } catch (IllegalArgumentException ignored) {
+            // E = Vector0 - the start is on the center line
+        }
+        if (E == null) {
+            t1 = getRadius() / K.length();
+            t2 = 0;
+        } else {
+            double a = K.lengthSquared();
+            double b = 2 * K.dotProduct(E);
+            double c = E.lengthSquared() - getRadiusSquared();
+            double delta = Util.alignZero(b*b - 4*a*c);
+            if (delta <= 0) //Line not intersecting or tangent (delta == 0)
+                return Double.POSITIVE_INFINITY;
+            double sDelta = Math.sqrt(delta);
+            t1 = Util.alignZero((-b+sDelta)/(2*a));
+            t2 = Util.alignZero((-b-sDelta)/(2*a));
+        }
+        if (t2 > 0 && t2 < maxT) {
+            double h = h0 + t2 * hV;
+            if (h > 0 && h < height)
+                return t2;
+        }
+        if (t1 > 0 && t1 < maxT) {
+            double h = h0 + t1 * hV;
+            if (h > 0 && h < height)
+                return t1;
+        }
+        return Double.POSITIVE_INFINITY;
+    }
+
     /**
      * Finds Base Intersection with a given ray
      * @param center the center of the base
@@ -134,19 +234,36 @@ public class Cylinder extends Tube {
      * @return The intersection
      */
     private GeoPoint findBaseIntersection (Point3D center, Ray ray) {
-        // Workflow: check for intersection with the plane that contains the base.
+        return findBaseIntersection(center, ray, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Finds Base Intersection with a given ray, nearer than the given distance
+     * @param center the center of the base
+     * @param ray The given ray
+     * @param maxT intersections at this distance or further are ignored
+     * @return The intersection, null if there is none in the range (0, maxT)
+     */
+    private GeoPoint findBaseIntersection (Point3D center, Ray ray, double maxT) {
+        // Workflow: check for intersection with the plane that contains the base
+        // (the same equation as in Plane.findIntersections()).
         // if there is no intersection, return null.
         // if there is, determine if this point is in the circle by
         // simply checking if the distance between the point and the center of the circle
         // is grater than the radius of the circle.
-        Plane plane = new Plane(center, axisRay.getDirection());
-        List<GeoPoint> planeIntersections = plane.findIntersections(ray);
-        if (planeIntersections == null) return null;
-        GeoPoint ret = planeIntersections.get(0);
-        ret.geometry = this;
-        double dist = ret.point.distance(center);
+        Point3D start = ray.getStart();
+        if (center.equals(start)) return null;
+        Vector normal = axisRay.getDirection();
+        Vector dir = ray.getDirection();
+        double numerator = Util.alignZero(normal.dotProduct(center.subtract(start)));
+        double denominator = Util.alignZero(normal.dotProduct(dir));
+        if (denominator == 0) return null;
+        double t = numerator / denominator;
+        if (t <= 0 || t >= maxT) return null;
+        Point3D point = start.add(dir.scale(t));
+        double dist = point.distance(center);
         if (dist >= getRadius()) return null;
-        return ret;
+        return new GeoPoint(this, point);
     }
 
     //endregion
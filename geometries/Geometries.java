@@ -10,8 +10,35 @@ import java.util.List;
  * This class works as base to the design pattern 'Composite'
  */
 public class Geometries implements Intersectable{
+
+    /**
+     * Construction strategies of the bounding volume hierarchy
+     */
+    public enum BVHMode {
+        /**
+         * Fast build - splitting every node at the median of the shape centers
+         */
+        MEDIAN,
+        /**
+         * High quality - binned surface area heuristic, slower to build but cheaper to traverse
+         */
+        SAH
+    }
+
     // in order to execute the findIntersections() function on every shape in the composite
     private List<Intersectable> shapeList;
+    // Optional acceleration structure - when it's built, the bounded shapes live in the hierarchy
+    // and the infinite ones (which can't be culled by a box) are kept aside
+    private BVHNode bvhRoot = null;
+    private List<Intersectable> unboundedShapes = null;
+    // Slab test early-out for the plain list - a shape is skipped if the ray misses its box
+    private boolean boundingBoxCheck = false;
+    private BoundingBox boundingBox = null;
+    private boolean boundingBoxCalculated = false;
+    // Composites which contain this one - their boxes and hierarchies cover the shapes of this one too
+    private List<Geometries> parents = null;
+    // Optional listener of the intersection tests (for statistics), null for none
+    private IntersectionCounter counter = null;
 
     //region Constructors
 
@@ -44,15 +71,140 @@ public class Geometries implements Intersectable{
      */
     public void add(Intersectable... geometries){
         Collections.addAll(shapeList, geometries);
+        for (Intersectable shape : geometries)
+            if (shape instanceof Geometries) {
+                Geometries nested = (Geometries) shape;
+                if (nested.parents == null)
+                    nested.parents = new ArrayList<>(1);
+                nested.parents.add(this);
+            }
+        if (counter != null)
+            setIntersectionCounter(counter); // the new composites report to the same listener
+        invalidate();
+    }
+
+    /**
+     * Drops the hierarchy and the box of the composite, and of every composite which contains it -
+     * they don't know the new shapes. The plain list is used until the hierarchy is rebuilt
+     */
+    private void invalidate() {
+        bvhRoot = null;
+        unboundedShapes = null;
+        boundingBoxCalculated = false;
+        if (parents != null)
+            for (Geometries parent : parents)
+                parent.invalidate();
+    }
+
+    /**
+     * Turns on/off the bounding box check of the plain list (without hierarchy):
+     * before the full intersection calculation of a bounded shape, the ray is tested
+     * against the shape's box, and the shape is skipped if the ray misses it
+     * @param check true to test the boxes first
+     */
+    public void setBoundingBoxCheck(boolean check) {
+        boundingBoxCheck = check;
+    }
+
+    /**
+     * Sets the listener which is told about every intersection test of a shape in the composite
+     * (including the shapes of nested composites), before the test runs
+     * @param counter the listener, null to stop counting
+     */
+    public void setIntersectionCounter(IntersectionCounter counter) {
+        this.counter = counter;
+        for (Intersectable shape : shapeList)
+            if (shape instanceof Geometries)
+                ((Geometries) shape).setIntersectionCounter(counter);
+    }
+
+    /**
+     * Reports an intersection test to the listener (if there is one).
+     * A nested composite isn't reported - it reports its own shapes
+     * @param counter the listener, may be null
+     * @param shape the tested shape
+     */
+    static void countTest(IntersectionCounter counter, Intersectable shape) {
+        if (counter != null && !(shape instanceof Geometries))
+            counter.countTest(shape);
+    }
+
+    /**
+     * Builds the bounding volume hierarchy (BVH) over the shapes of the composite, with the fast-build
+     * strategy. For more info, go to {@link Geometries#buildBVH(BVHMode)}
+     * @return the construction statistics
+     */
+    public BVHStatistics buildBVH() {
+        return buildBVH(BVHMode.MEDIAN);
+    }
+
+    /**
+     * Builds the bounding volume hierarchy (BVH) over the shapes of the composite.
+     * From now on, findIntersections() tests only the shapes whose boxes are hit by the ray,
+     * instead of walking over the whole list. Nested composites build their own hierarchy.
+     * Should be called once, after all the shapes were added (adding a shape, also to a nested composite,
+     * drops the hierarchy)
+     * @param mode the construction strategy
+     * @return the construction statistics
+     */
+    public BVHStatistics buildBVH(BVHMode mode) {
+        long start = System.currentTimeMillis();
+        List<Intersectable> bounded = new ArrayList<>();
+        List<Intersectable> unbounded = new ArrayList<>();
+        for (Intersectable shape : shapeList) {
+            if (shape instanceof Geometries)
+                ((Geometries) shape).buildBVH(mode);
+            if (shape.isBounded())
+                bounded.add(shape);
+            else
+                unbounded.add(shape);
+        }
+        bvhRoot = new BVHBuilder(bounded, mode).build();
+        unboundedShapes = unbounded;
+        return new BVHStatistics(mode, bounded.size(), unbounded.size(), bvhRoot,
+                System.currentTimeMillis() - start);
+    }
+
+    @Override
+    public BoundingBox getBoundingBox() {
+        if (!boundingBoxCalculated) {
+            boundingBox = calcBoundingBox();
+            boundingBoxCalculated = true;
+        }
+        return boundingBox;
+    }
+
+    /**
+     * The composite is bounded only if every shape in it is bounded
+     * @return union of the boxes of all the shapes, null if one of them is infinite
+     */
+    private BoundingBox calcBoundingBox() {
+        BoundingBox box = null;
+        for (Intersectable shape : shapeList) {
+            BoundingBox shapeBox = shape.getBoundingBox();
+            if (shapeBox == null)
+                return null;
+            box = box == null ? shapeBox : box.union(shapeBox);
+        }
+        return box;
     }
 
     @Override
     public List<GeoPoint> findIntersections(Ray ray) {
+        if (unboundedShapes != null)
+            return findIntersectionsBVH(ray);
+
         List<GeoPoint> intersectionCollection = null;
         List<GeoPoint> temp;
         // iterating over the shape list
         for(Intersectable shape : shapeList){
+            if (boundingBoxCheck) {
+                BoundingBox box = shape.getBoundingBox();
+                if (box != null && !box.intersects(ray, Double.POSITIVE_INFINITY))
+                    continue; // the ray can't reach this shape
+            }
             //calculating the findIntersections() on every shape
+            countTest(counter, shape);
             temp = shape.findIntersections(ray);
             if (temp != null){ // if the current shape has some intersection - insert!
                 //building the returned list
@@ -66,4 +218,79 @@ public class Geometries implements Intersectable{
         ray.sortPointByT(intersectionCollection);
         return intersectionCollection;
     }
+
+    @Override
+    public GeoPoint findClosestIntersection(Ray ray, double maxT) {
+        // With a hierarchy, only the unbounded shapes are tested one by one
+        boolean hierarchy = unboundedShapes != null;
+        List<Intersectable> shapes = hierarchy ? unboundedShapes : shapeList;
+        Point3D start = ray.getStart();
+
+        GeoPoint closest = null;
+        for (Intersectable shape : shapes) {
+            if (boundingBoxCheck && !hierarchy) {
+                BoundingBox box = shape.getBoundingBox();
+                if (box != null && !box.intersects(ray, maxT))
+                    continue; // the ray can't reach this shape before the closest point so far
+            }
+            // every shape gets the closest distance so far, and ignores anything further
+            countTest(counter, shape);
+            GeoPoint gp = shape.findClosestIntersection(ray, maxT);
+            if (gp != null) {
+                maxT = start.distance(gp.point);
+                closest = gp;
+            }
+        }
+
+        if (bvhRoot != null && bvhRoot.box.intersects(ray, maxT)) {
+            BVHNode.ClosestHit hit = new BVHNode.ClosestHit(maxT);
+            bvhRoot.findClosestIntersection(ray, hit, counter);
+            if (hit.point != null)
+                closest = hit.point;
+        }
+        return closest;
+    }
+
+    @Override
+    public double findTransparency(Ray ray, double maxT, double ktr, double minKtr) {
+        boolean hierarchy = unboundedShapes != null;
+        List<Intersectable> shapes = hierarchy ? unboundedShapes : shapeList;
+
+        for (Intersectable shape : shapes) {
+            if (boundingBoxCheck && !hierarchy) {
+                BoundingBox box = shape.getBoundingBox();
+                if (box != null && !box.intersects(ray, maxT))
+                    continue; // the shape isn't between the point and the light
+            }
+            countTest(counter, shape);
+            ktr = shape.findTransparency(ray, maxT, ktr, minKtr);
+            if (ktr == 0)
+                return 0; // fully blocked - the rest of the shapes can't change it
+        }
+        if (bvhRoot != null)
+            ktr = bvhRoot.findTransparency(ray, maxT, ktr, minKtr, counter);
+        return ktr;
+    }
+
+    /**
+     * findIntersections() over the hierarchy - the infinite shapes are always tested,
+     * the bounded ones only if the ray passes through their boxes
+     * @param ray the given ray
+     * @return sorted list of intersections, null if there are none
+     */
+    private List<GeoPoint> findIntersectionsBVH(Ray ray) {
+        List<GeoPoint> intersectionCollection = new ArrayList<>();
+        for (Intersectable shape : unboundedShapes) {
+            countTest(counter, shape);
+            List<GeoPoint> temp = shape.findIntersections(ray);
+            if (temp != null)
+                intersectionCollection.addAll(temp);
+        }
+        if (bvhRoot != null)
+            bvhRoot.findIntersections(ray, intersectionCollection, counter);
+        if (intersectionCollection.isEmpty())
+            return null;
+        ray.sortPointByT(intersectionCollection);
+        return intersectionCollection;
+    }
 }
@@ -10,6 +10,10 @@ public abstract class Geometry implements Intersectable {
     protected Color emission;
     protected Material material;
 
+    // The bounding box is calculated on the first request and kept for the rest of the shape's life
+    private BoundingBox boundingBox = null;
+    private boolean boundingBoxCalculated = false;
+
     //region Constructors
 
     /**
@@ -21,6 +25,16 @@ public abstract class Geometry implements Intersectable {
         material = new Material(0,0,0);
     }
 
+    /**
+     * Constructor
+     * @param color The emission
+     * @param material The material
+     */
+    protected Geometry(Color color, Material material) {
+        emission = color;
+        this.material = material;
+    }
+
     /**
      * Default C'tor
      */
@@ -46,6 +60,23 @@ public abstract class Geometry implements Intersectable {
     public Material getMaterial(){
         return material;
     }
+
+    @Override
+    public double findTransparency(Ray ray, double maxT, double ktr, double minKtr) {
+        // An opaque shape blocks the light with any intersection - no need to find all of them
+        if (material.getKT() == 0)
+            return findClosestIntersection(ray, maxT) == null ? ktr : 0;
+        return Intersectable.super.findTransparency(ray, maxT, ktr, minKtr);
+    }
+
+    @Override
+    public BoundingBox getBoundingBox() {
+        if (!boundingBoxCalculated) {
+            boundingBox = calcBoundingBox();
+            boundingBoxCalculated = true;
+        }
+        return boundingBox;
+    }
     //endregion
 
     /**
@@ -54,4 +85,12 @@ public abstract class Geometry implements Intersectable {
      */
     public abstract Vector getNormal(Point3D point3D);
 
+    /**
+     * Calculates the box of the shape - finite shapes override it
+     * @return the axis-aligned box containing the shape, null if the shape is infinite
+     */
+    protected BoundingBox calcBoundingBox() {
+        return null;
+    }
+
 }
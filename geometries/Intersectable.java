@@ -16,6 +16,83 @@ public interface Intersectable {
      */
     List<GeoPoint> findIntersections(Ray ray);
 
+    /**
+     * Finds only the closest intersection of the ray, which is nearer than the given distance.
+     * Shapes override it in order to avoid building the full list of intersections
+     * @param ray the given ray
+     * @param maxT intersections at this distance (t value) or further are ignored
+     * @return the closest intersection in the range (0, maxT), null if there is none
+     */
+    default GeoPoint findClosestIntersection(Ray ray, double maxT) {
+        List<GeoPoint> intersections = findIntersections(ray);
+        if (intersections == null)
+            return null;
+        Point3D start = ray.getStart();
+        GeoPoint closest = null;
+        for (GeoPoint gp : intersections) {
+            // the direction of a ray is normalized, so the distance is the t value
+            double t = start.distance(gp.point);
+            if (t < maxT) {
+                maxT = t;
+                closest = gp;
+            }
+        }
+        return closest;
+    }
+
+    /**
+     * Finds only the closest intersection of the ray
+     * @param ray the given ray
+     * @return the closest intersection, null if there is none
+     */
+    default GeoPoint findClosestIntersection(Ray ray) {
+        return findClosestIntersection(ray, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Shadow query - passes the light along the ray through the shapes, multiplying the transparency
+     * factor by the transparency (kT) of every intersection closer than the given distance.
+     * The query stops as soon as the light is blocked, so shapes override it in order to
+     * end at the first opaque intersection without finding the rest
+     * @param ray the shadow ray (from a point toward a light source)
+     * @param maxT only intersections closer than this distance (the light) block the light
+     * @param ktr the transparency factor accumulated so far
+     * @param minKtr a factor under this value is considered as a full shadow
+     * @return the transparency factor after the intersections, 0 if it fell under minKtr
+     */
+    default double findTransparency(Ray ray, double maxT, double ktr, double minKtr) {
+        List<GeoPoint> intersections = findIntersections(ray);
+        if (intersections == null)
+            return ktr;
+        Point3D start = ray.getStart();
+        for (GeoPoint gp : intersections) {
+            if (start.distance(gp.point) >= maxT)
+                continue; // behind the light
+            ktr *= gp.geometry.getMaterial().getKT();
+            if (ktr < minKtr)
+                return 0;
+        }
+        return ktr;
+    }
+
+    /**
+     * The spatial extent of the Intersectable, used by the acceleration structures
+     * in order to skip it for rays that can't reach it.
+     * Infinite shapes (e.g. Plane, Tube) have no box.
+     * @return the axis-aligned box containing the shape, or null if the shape is unbounded
+     */
+    default BoundingBox getBoundingBox() {
+        return null;
+    }
+
+    /**
+     * Acceleration structures keep the unbounded shapes aside and test them with every ray
+     * @return false if the shape is infinite (e.g. Plane, Tube), true otherwise
+     */
+    default boolean isBounded() {
+        return getBoundingBox() != null;
+    }
+
 
     /**
      * static class
@@ -0,0 +1,15 @@
+package geometries;
+
+/**
+ * Listener of the intersection tests of a composite - lets the renderer count how many
+ * tests every kind of shape costs (see {@link Geometries#setIntersectionCounter(IntersectionCounter)}).
+ * Called from all the rendering threads, so an implementation must be thread safe
+ */
+@FunctionalInterface
+public interface IntersectionCounter {
+    /**
+     * Called before the full intersection calculation of a shape
+     * @param shape the tested shape (never a composite - a nested composite reports its own shapes)
+     */
+    void countTest(Intersectable shape);
+}
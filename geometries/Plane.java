@@ -150,6 +150,23 @@ public class Plane extends Geometry {
         intersection.add(new GeoPoint(this, intersectionPoint));
         return intersection;
     }
+
+    @Override
+    public GeoPoint findClosestIntersection(Ray ray, double maxT) {
+        // A plane has at most one intersection - see findIntersections() for the equation
+        Point3D start = ray.getStart();
+        if (point.equals(start))
+            return null;
+        Vector dir = ray.getDirection();
+        double numerator = Util.alignZero(normal.dotProduct(point.subtract(start)));
+        double denominator = Util.alignZero(normal.dotProduct(dir));
+        if (denominator == 0) return null;
+
+        double t = numerator / denominator;
+        if (t <= 0 || t >= maxT)
+            return null;
+        return new GeoPoint(this, start.add(dir.scale(t)));
+    }
     //endregion
 }
 
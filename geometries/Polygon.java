@@ -22,6 +22,14 @@ public class Polygon extends Geometry {
      */
     protected Plane _plane;
 
+    // The plane as its unit normal and a point, for an intersection without Vector and Point3D arithmetic
+    private final double nx, ny, nz, qx, qy, qz;
+    // The polygon is projected on the plane of the two axes other than the dominant axis of the normal
+    private final int uAxis, vAxis;
+    // The line of every edge in the projection as {a, b, c}: a*u + b*v + c is the distance from the edge,
+    // positive inside the polygon
+    private final double[] edgeLines;
+
     //region Constructors
 
     /**
@@ -53,9 +61,21 @@ public class Polygon extends Geometry {
         // polygon with this plane.
         // The plane holds the invariant normal (orthogonal unit) vector to the polygon
         _plane = new Plane(vertices[0], vertices[1], vertices[2]);
+        Vector n = _plane.getNormal();
+        nx = n.getXValue();
+        ny = n.getYValue();
+        nz = n.getZValue();
+        qx = vertices[0].getXValue();
+        qy = vertices[0].getYValue();
+        qz = vertices[0].getZValue();
+        // drop the axis on which the projection of the polygon is the largest
+        double ax = Math.abs(nx), ay = Math.abs(ny), az = Math.abs(nz);
+        int dropped = ax >= ay && ax >= az ? 0 : ay >= az ? 1 : 2;
+        uAxis = dropped == 0 ? 1 : 0;
+        vAxis = dropped == 2 ? 1 : 2;
+        edgeLines = calcEdgeLines(vertices);
         if (vertices.length == 3) return; // no need for more tests for a Triangle
 
-        Vector n = _plane.getNormal();
 
         // Subtracting any subsequent points will throw an IllegalArgumentException
         // because of Zero Vector if they are in the same point
@@ -113,52 +133,79 @@ public class Polygon extends Geometry {
         return _plane.getNormal();
     }
 
+    @Override
+    protected BoundingBox calcBoundingBox() {
+        return new BoundingBox(_vertices.toArray(new Point3D[0]));
+    }
+
     @Override
     public List<GeoPoint> findIntersections(Ray ray) {
-        // let's check if the ray has any intersection with the polygon's Plane
-        List<GeoPoint> planeInter = _plane.findIntersections(ray);
-        if(planeInter == null)
+        // A polygon has at most one intersection
+        GeoPoint intersection = findClosestIntersection(ray, Double.POSITIVE_INFINITY);
+        if (intersection == null)
             return null;
+        List<GeoPoint> ret = new LinkedList<>();
+        ret.add(intersection);
+        return ret;
+    }
 
-        //Let's create lists to save our data [vectors and normals]
-        List<Vector> vectorList = new LinkedList<>();
-        List<Vector> normalList = new LinkedList<>();
-
-        //Calculate the vectors on the Polygon
-        for(int i=0; i<_vertices.size(); i++){
-            vectorList.add(new Vector(_vertices.get(i).subtract(ray.getStart())));
-        }
-
-        //Calculate the normals on the Polygon
-        for(int i=0; i<vectorList.size(); i++){
-            //computing cross product between every close vertexes
-            normalList.add((new Vector(vectorList.get(i).crossProduct(vectorList.get((i+1) % vectorList.size()))))
-                    .normalize());
-        }
-
-        double sign = Util.alignZero(ray.getDirection().dotProduct(normalList.get(0)));
-        if (sign == 0) return null; // value should not be 0.0
+    @Override
+    public GeoPoint findClosestIntersection(Ray ray, double maxT) {
+        // let's check if the ray has any intersection with the polygon's plane - the same equation as in Plane
+        double ox = ray.getStart(0), oy = ray.getStart(1), oz = ray.getStart(2);
+        double dx = ray.getDirection(0), dy = ray.getDirection(1), dz = ray.getDirection(2);
+        double denominator = alignZero(nx * dx + ny * dy + nz * dz);
+        if (denominator == 0) return null;
+        double t = alignZero(nx * (qx - ox) + ny * (qy - oy) + nz * (qz - oz)) / denominator;
+        if (t <= 0 || t >= maxT)
+            return null;
 
-        // in order to separate the cases, an initialization accomplished for the first element
-        boolean determineSignValue = sign > 0;
+        // and then whether the point on the plane is inside the polygon
+        double x = ox + dx * t, y = oy + dy * t, z = oz + dz * t;
+        double u = uAxis == 0 ? x : y, v = vAxis == 1 ? y : z;
+        for (int i = 0; i < edgeLines.length; i += 3)
+            if (alignZero(edgeLines[i] * u + edgeLines[i + 1] * v + edgeLines[i + 2]) <= 0)
+                return null; // outside, or on an edge or a vertex
+        return new GeoPoint(this, new Point3D(x, y, z));
+    }
+    //endregion
 
-        for(int i=1; i<normalList.size(); i++) {
-            double value = Util.alignZero(ray.getDirection().dotProduct(normalList.get(i)));
+    //region Private functions
 
-            if(determineSignValue) { // in case the expected sign is (+)
-                if (value <= 0)
-                    // Just one calculation which has different sign determine that the ray is not inside the polygon
-                    return null;
+    /**
+     * Calculates the lines of the edges in the projection of the polygon, with unit normals
+     * which point into the polygon (the polygon is convex, so its center is inside)
+     * @param vertices the vertices of the polygon
+     * @return {a, b, c} of every edge
+     */
+    private double[] calcEdgeLines(Point3D[] vertices) {
+        int n = vertices.length;
+        double[] u = new double[n], v = new double[n];
+        double centerU = 0, centerV = 0;
+        for (int i = 0; i < n; ++i) {
+            u[i] = uAxis == 0 ? vertices[i].getXValue() : vertices[i].getYValue();
+            v[i] = vAxis == 1 ? vertices[i].getYValue() : vertices[i].getZValue();
+            centerU += u[i] / n;
+            centerV += v[i] / n;
+        }
+        double[] lines = new double[3 * n];
+        for (int i = 0; i < n; ++i) {
+            int j = (i + 1) % n;
+            double a = v[i] - v[j], b = u[j] - u[i];
+            double length = Math.sqrt(a * a + b * b);
+            a /= length;
+            b /= length;
+            double c = -(a * u[i] + b * v[i]);
+            if (a * centerU + b * centerV + c < 0) {
+                a = -a;
+                b = -b;
+                c = -c;
             }
-            else // in case the expected sign is (-)
-                if(value >= 0)
-                    // Just one calculation which has different sign determine that the ray does not inside the polygon
-                    return null;
+            lines[3 * i] = a;
+            lines[3 * i + 1] = b;
+            lines[3 * i + 2] = c;
         }
-
-        // if the run made it 'til here - it can return inside point
-        planeInter.get(0).geometry = this;
-        return planeInter;
+        return lines;
     }
     //endregion
 }
@@ -67,6 +67,13 @@ public class Sphere extends RadialGeometry{
         return super.toString() + ", center=" + center;
     }
 
+    @Override
+    protected BoundingBox calcBoundingBox() {
+        double r = getRadius();
+        double x = center.getXValue(), y = center.getYValue(), z = center.getZValue();
+        return new BoundingBox(x - r, y - r, z - r, x + r, y + r, z + r);
+    }
+
     @Override
     public List<GeoPoint> findIntersections(Ray ray) {
         Vector dir = ray.getDirection();
@@ -104,5 +111,30 @@ public class Sphere extends RadialGeometry{
             ret.add(new GeoPoint(this, start.add(dir.scale(t2))));
         return ret;
     }
+
+    @Override
+    public GeoPoint findClosestIntersection(Ray ray, double maxT) {
+        // Same equation as in findIntersections(), but only the nearest positive root is turned into a point
+        Vector dir = ray.getDirection();
+        Point3D start = ray.getStart();
+        double t;
+        if (center.equals(start))
+            t = getRadius() / (dir.length());
+        else {
+            Vector e = (start.subtract(center));
+            double a = dir.lengthSquared();
+            double b = 2 * e.dotProduct(dir);
+            double c = e.lengthSquared() - getRadiusSquared();
+            double delta = alignZero(b*b - 4*a*c);
+            if (delta <= 0) //Ray's line not intersecting or tangent (delta == 0)
+                return null;
+            double sDelta = Math.sqrt(delta);
+            double t1 = alignZero((-b+sDelta)/(2*a));
+            double t2 = alignZero((-b-sDelta)/(2*a));
+            if (t1<=0) return null; // Both t1, t2 are non-positive case
+            t = t2 > 0 ? t2 : t1;
+        }
+        return t < maxT ? new GeoPoint(this, start.add(dir.scale(t))) : null;
+    }
     //endregion
 }
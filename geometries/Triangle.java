@@ -2,10 +2,21 @@ package geometries;
 
 import primitives.*;
 
+import java.util.LinkedList;
+import java.util.List;
+
+import static primitives.Util.*;
+
 /**
  * Represents a triangle in the 3D space
  */
 public class Triangle extends Polygon {
+    // The first vertex and the two edges from it, for the Möller–Trumbore intersection
+    private final double ax, ay, az;
+    private final double e1x, e1y, e1z;
+    private final double e2x, e2y, e2z;
+    // 1 / |e1 x e2| - turns the determinant into the cosine between the ray and the normal
+    private final double normalScale;
 
     //region Constructors
 
@@ -16,6 +27,17 @@ public class Triangle extends Polygon {
      */
     public Triangle(Point3D p1, Point3D p2, Point3D p3) {
         super(p1, p2, p3);
+        ax = p1.getXValue();
+        ay = p1.getYValue();
+        az = p1.getZValue();
+        e1x = p2.getXValue() - ax;
+        e1y = p2.getYValue() - ay;
+        e1z = p2.getZValue() - az;
+        e2x = p3.getXValue() - ax;
+        e2y = p3.getYValue() - ay;
+        e2z = p3.getZValue() - az;
+        double nx = e1y * e2z - e1z * e2y, ny = e1z * e2x - e1x * e2z, nz = e1x * e2y - e1y * e2x;
+        normalScale = 1 / Math.sqrt(nx * nx + ny * ny + nz * nz);
     }
 
     /**
@@ -25,7 +47,8 @@ public class Triangle extends Polygon {
      * @param color The emission
      */
     public Triangle(Color color, Point3D p1, Point3D p2, Point3D p3) {
-        super(color, p1, p2, p3);
+        this(p1, p2, p3);
+        emission = color;
     }
 
     /**
@@ -49,8 +72,63 @@ public class Triangle extends Polygon {
         return "vertices=" + _vertices + ", plane=" + _plane.toString();
     }
 
-    // There is no need to implement findIntersections(Ray) (and getNormal()) because it's already
-    // implemented in Polygon class (super).
+    @Override
+    public List<GeoPoint> findIntersections(Ray ray) {
+        // A triangle has at most one intersection
+        GeoPoint intersection = findClosestIntersection(ray, Double.POSITIVE_INFINITY);
+        if (intersection == null)
+            return null;
+        List<GeoPoint> ret = new LinkedList<>();
+        ret.add(intersection);
+        return ret;
+    }
+
+    @Override
+    public GeoPoint findClosestIntersection(Ray ray, double maxT) {
+        double t = intersect(ray.getStart(0), ray.getStart(1), ray.getStart(2),
+                ray.getDirection(0), ray.getDirection(1), ray.getDirection(2), maxT);
+        return t == Double.POSITIVE_INFINITY ? null : new GeoPoint(this, ray.getPoint(t));
+    }
+
+    // There is no need to implement getNormal() because it's already implemented in Polygon class (super).
+
+    //endregion
+
+    //region Private functions
 
+    /**
+     * Ray-triangle intersection (Möller–Trumbore): solves start + t*dir = A + u*(B-A) + v*(C-A) with the
+     * precomputed edges, without the plane of the triangle and without any allocation.
+     * As in {@link Polygon}, the edges and the vertices are not included, and a ray which is parallel to the
+     * plane or starts on it has no intersection
+     * @param ox x of the start point of the ray
+     * @param oy y of the start point of the ray
+     * @param oz z of the start point of the ray
+     * @param dx x of the direction of the ray
+     * @param dy y of the direction of the ray
+     * @param dz z of the direction of the ray
+     * @param maxT intersections at this distance or further are ignored
+     * @return the distance of the intersection, positive infinity if there is none in the range (0, maxT)
+     */
+    private double intersect(double ox, double oy, double oz, double dx, double dy, double dz, double maxT) {
+        // p = dir x e2
+        double px = dy * e2z - dz * e2y, py = dz * e2x - dx * e2z, pz = dx * e2y - dy * e2x;
+        double det = e1x * px + e1y * py + e1z * pz;
+        // det = -dir * (e1 x e2) - the same parallel test as the plane's
+        if (isZero(det * normalScale))
+            return Double.POSITIVE_INFINITY;
+        double invDet = 1 / det;
+        double sx = ox - ax, sy = oy - ay, sz = oz - az;
+        double u = alignZero((sx * px + sy * py + sz * pz) * invDet);
+        if (u <= 0 || u >= 1)
+            return Double.POSITIVE_INFINITY;
+        // q = s x e1
+        double qx = sy * e1z - sz * e1y, qy = sz * e1x - sx * e1z, qz = sx * e1y - sy * e1x;
+        double v = alignZero((dx * qx + dy * qy + dz * qz) * invDet);
+        if (v <= 0 || alignZero(1 - u - v) <= 0)
+            return Double.POSITIVE_INFINITY;
+        double t = alignZero((e2x * qx + e2y * qy + e2z * qz) * invDet);
+        return t <= 0 || t >= maxT ? Double.POSITIVE_INFINITY : t;
+    }
     //endregion
 }
@@ -0,0 +1,444 @@
+package geometries;
+
+import primitives.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import static primitives.Util.*;
+
+/**
+ * Represents a mesh of triangles which share their vertices, kept in compact arrays:
+ * the coordinates of the vertices in a flat double array, 3 vertex indices per face in an int array,
+ * and a small palette of materials with an entry index per face.
+ * The faces are held in a flat bounding volume hierarchy of their own, so the whole mesh is a single
+ * shape in the scene, and it costs tens of bytes per triangle instead of an object graph
+ * (points, plane, vertex list) per triangle.
+ * The intersections are calculated directly on the arrays - a hit face is returned as a light-weight
+ * {@link TriangleMesh.Face} geometry which refers back to the mesh
+ */
+public class TriangleMesh implements Intersectable {
+    // vertices[3v..3v+2] = x, y, z of vertex v
+    private final double[] vertices;
+    // indices[3f..3f+2] = the vertices of face f - the faces are ordered by the leaves of the hierarchy
+    private final int[] indices;
+    // The palette of the faces' emissions and materials
+    private final Color[] emissions;
+    private final Material[] materials;
+    // The palette entry of every face, null if all the faces use entry 0
+    private final int[] faceMaterials;
+    // The hierarchy over the faces - see BVHBuilder.FlatTree (the leaves hold ranges of faces)
+    private final double[] nodeBoxes;
+    private final int[] nodes;
+    private final BoundingBox boundingBox;
+
+    //region Constructors
+
+    /**
+     * Constructor of a black mesh with the default material
+     * @param vertices the coordinates of the vertices as {x0, y0, z0, x1, y1, z1, ...}
+     * @param indices 3 vertex indices for every face (the vertices of face f are at 3f, 3f+1, 3f+2)
+     */
+    public TriangleMesh(double[] vertices, int[] indices) {
+        this(new Color(java.awt.Color.BLACK), new Material(0, 0, 0), vertices, indices);
+    }
+
+    /**
+     * Constructor of a mesh whose faces share the same emission and material
+     * @param color The emission
+     * @param material The material
+     * @param vertices the coordinates of the vertices as {x0, y0, z0, x1, y1, z1, ...}
+     * @param indices 3 vertex indices for every face (the vertices of face f are at 3f, 3f+1, 3f+2)
+     */
+    public TriangleMesh(Color color, Material material, double[] vertices, int[] indices) {
+        this(new Color[] {color}, new Material[] {material}, null, vertices, indices);
+    }
+
+    /**
+     * Constructor of a mesh with a material per face
+     * @param emissions palette of emissions
+     * @param materials palette of materials (the same length as the emissions)
+     * @param faceMaterials the palette entry of every face, null for entry 0 in all the faces
+     * @param vertices the coordinates of the vertices as {x0, y0, z0, x1, y1, z1, ...}
+     * @param indices 3 vertex indices for every face (the vertices of face f are at 3f, 3f+1, 3f+2)
+     * @throws IllegalArgumentException if the arrays don't describe a mesh:
+     * <ul>
+     * <li>The vertices or the indices are not given in triples, or there are no faces</li>
+     * <li>An index is not of an existing vertex</li>
+     * <li>The palette is empty, or a face refers to a missing palette entry</li>
+     * </ul>
+     */
+    public TriangleMesh(Color[] emissions, Material[] materials, int[] faceMaterials, double[] vertices,
+                        int[] indices) {
+        if (vertices.length % 3 != 0)
+            throw new IllegalArgumentException("Vertices must be given as triples of coordinates");
+        if (indices.length == 0 || indices.length % 3 != 0)
+            throw new IllegalArgumentException("A mesh must have at least one face, and 3 indices for every face");
+        if (emissions.length == 0 || emissions.length != materials.length)
+            throw new IllegalArgumentException("Palette must have an emission and a material for every entry");
+        int faces = indices.length / 3;
+        if (faceMaterials != null && faceMaterials.length != faces)
+            throw new IllegalArgumentException("Palette entry must be given for every face");
+        int vertexCount = vertices.length / 3;
+        for (int index : indices)
+            if (index < 0 || index >= vertexCount)
+                throw new IllegalArgumentException("Face refers to a missing vertex " + index);
+        if (faceMaterials != null)
+            for (int entry : faceMaterials)
+                if (entry < 0 || entry >= materials.length)
+                    throw new IllegalArgumentException("Face refers to a missing palette entry " + entry);
+
+        this.vertices = vertices.clone();
+        this.emissions = emissions.clone();
+        this.materials = materials.clone();
+
+        // The boxes of the faces - the only per-face data the hierarchy builder needs
+        double[] faceBoxes = new double[6 * faces];
+        for (int f = 0; f < faces; ++f)
+            for (int axis = 0; axis < 3; ++axis) {
+                double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+                for (int k = 0; k < 3; ++k) {
+                    double c = vertices[3 * indices[3 * f + k] + axis];
+                    min = Math.min(min, c);
+                    max = Math.max(max, c);
+                }
+                faceBoxes[6 * f + axis] = min;
+                faceBoxes[6 * f + 3 + axis] = max;
+            }
+        BVHBuilder.FlatTree tree = new BVHBuilder(faceBoxes, Geometries.BVHMode.SAH).buildFlat();
+        nodeBoxes = tree.boxes;
+        nodes = tree.nodes;
+
+        // Reorder the faces by the leaves, so a leaf is a range of consecutive faces
+        this.indices = new int[indices.length];
+        this.faceMaterials = faceMaterials == null ? null : new int[faces];
+        for (int f = 0; f < faces; ++f) {
+            int source = tree.order[f];
+            System.arraycopy(indices, 3 * source, this.indices, 3 * f, 3);
+            if (faceMaterials != null)
+                this.faceMaterials[f] = faceMaterials[source];
+        }
+        boundingBox = new BoundingBox(nodeBoxes[0], nodeBoxes[1], nodeBoxes[2],
+                nodeBoxes[3], nodeBoxes[4], nodeBoxes[5]);
+    }
+    //endregion
+
+    //region Getters
+
+    /**
+     * @return amount of faces (triangles) in the mesh
+     */
+    public int getFaceCount() {
+        return indices.length / 3;
+    }
+
+    /**
+     * @return amount of vertices in the mesh
+     */
+    public int getVertexCount() {
+        return vertices.length / 3;
+    }
+
+    /**
+     * @param face index of a face - the faces are reordered by the mesh, so it's not
+     *             necessarily the index the face was given in
+     * @return the face as a geometry
+     */
+    public Face getFace(int face) {
+        if (face < 0 || face >= getFaceCount())
+            throw new IndexOutOfBoundsException("Face " + face + " is out of the mesh");
+        return new Face(this, face);
+    }
+
+    @Override
+    public BoundingBox getBoundingBox() {
+        return boundingBox;
+    }
+    //endregion
+
+    //region Intersections
+
+    @Override
+    public List<GeoPoint> findIntersections(Ray ray) {
+        List<GeoPoint> intersections = new ArrayList<>();
+        findIntersections(0, ray, intersections, new HitDistances());
+        return intersections.isEmpty() ? null : intersections;
+    }
+
+    @Override
+    public GeoPoint findClosestIntersection(Ray ray, double maxT) {
+        if (BoundingBox.findEntry(nodeBoxes, 0, ray, maxT) == Double.POSITIVE_INFINITY)
+            return null;
+        ClosestFace hit = new ClosestFace(maxT);
+        findClosestIntersection(0, ray, hit);
+        return hit.face < 0 ? null : new GeoPoint(new Face(this, hit.face), ray.getPoint(hit.t));
+    }
+
+    @Override
+    public double findTransparency(Ray ray, double maxT, double ktr, double minKtr) {
+        return findTransparency(0, ray, maxT, ktr, minKtr, new HitDistances());
+    }
+
+    /**
+     * Collects the intersections of the ray with the faces of a sub-hierarchy
+     * @param node the root of the sub-hierarchy
+     * @param ray the given ray
+     * @param result list to add the intersections into
+     * @param hits distances of the intersections found so far
+     */
+    private void findIntersections(int node, Ray ray, List<GeoPoint> result, HitDistances hits) {
+        if (BoundingBox.findEntry(nodeBoxes, 6 * node, ray, Double.POSITIVE_INFINITY)
+                == Double.POSITIVE_INFINITY)
+            return;
+        int count = nodes[2 * node + 1];
+        if (count == 0) {
+            findIntersections(node + 1, ray, result, hits);
+            findIntersections(nodes[2 * node], ray, result, hits);
+            return;
+        }
+        for (int f = nodes[2 * node], last = f + count; f < last; ++f) {
+            double t = intersectFace(f, ray, Double.POSITIVE_INFINITY);
+            if (t != Double.POSITIVE_INFINITY && hits.add(t))
+                result.add(new GeoPoint(new Face(this, f), ray.getPoint(t)));
+        }
+    }
+
+    /**
+     * Distances of the faces hit by an any-hit traversal. The faces include their edges, so a ray through
+     * a shared edge (or vertex) hits all the faces around it at the same distance - it is counted once
+     */
+    private static class HitDistances {
+        private double[] ts = new double[4];
+        private int count;
+
+        /**
+         * @param t distance of a hit
+         * @return false if a hit at the same distance was already recorded
+         */
+        boolean add(double t) {
+            for (int i = 0; i < count; ++i)
+                if (isZero(t - ts[i]))
+                    return false;
+            if (count == ts.length)
+                ts = Arrays.copyOf(ts, 2 * count);
+            ts[count++] = t;
+            return true;
+        }
+    }
+
+    /**
+     * Running state of a closest-hit traversal - the nearest face found so far
+     */
+    private static class ClosestFace {
+        int face = -1;
+        double t;
+
+        /**
+         * @param maxT intersections at this distance or further are ignored
+         */
+        ClosestFace(double maxT) {
+            t = maxT;
+        }
+    }
+
+    /**
+     * Closest-hit traversal: the nearer child is visited first, and a child whose box is entered
+     * after the closest intersection found so far is skipped.
+     * The box of the node must be already tested by the caller
+     * @param node the root of the sub-hierarchy
+     * @param ray the given ray
+     * @param hit the nearest face so far, updated by the traversal
+     */
+    private void findClosestIntersection(int node, Ray ray, ClosestFace hit) {
+        int count = nodes[2 * node + 1];
+        if (count > 0) {
+            for (int f = nodes[2 * node], last = f + count; f < last; ++f) {
+                double t = intersectFace(f, ray, hit.t);
+                if (t < hit.t) {
+                    hit.t = t;
+                    hit.face = f;
+                }
+            }
+            return;
+        }
+        int near = node + 1, far = nodes[2 * node];
+        double tNear = BoundingBox.findEntry(nodeBoxes, 6 * near, ray, hit.t);
+        double tFar = BoundingBox.findEntry(nodeBoxes, 6 * far, ray, hit.t);
+        if (tFar < tNear) {
+            int tmp = near; near = far; far = tmp;
+            double tmpT = tNear; tNear = tFar; tFar = tmpT;
+        }
+        if (tNear < hit.t)
+            findClosestIntersection(near, ray, hit);
+        if (tFar < hit.t) // the near child may have found something before the far box
+            findClosestIntersection(far, ray, hit);
+    }
+
+    /**
+     * Shadow traversal - any order, but the traversal ends once the light is blocked
+     * @param node the root of the sub-hierarchy
+     * @param ray the given ray
+     * @param maxT the distance to the light
+     * @param ktr the transparency factor accumulated so far
+     * @param minKtr a factor under this value is considered as a full shadow
+     * @param hits distances of the faces passed so far
+     * @return the transparency factor after the faces of the sub-hierarchy, 0 if the light is blocked
+     */
+    private double findTransparency(int node, Ray ray, double maxT,
+                                    double ktr, double minKtr, HitDistances hits) {
+        if (BoundingBox.findEntry(nodeBoxes, 6 * node, ray, maxT) == Double.POSITIVE_INFINITY)
+            return ktr;
+        int count = nodes[2 * node + 1];
+        if (count == 0) {
+            ktr = findTransparency(node + 1, ray, maxT, ktr, minKtr, hits);
+            return ktr == 0 ? 0 : findTransparency(nodes[2 * node], ray, maxT, ktr, minKtr, hits);
+        }
+        for (int f = nodes[2 * node], last = f + count; f < last; ++f) {
+            double t = intersectFace(f, ray, maxT);
+            if (t == Double.POSITIVE_INFINITY || !hits.add(t))
+                continue;
+            ktr *= materials[paletteEntry(f)].getKT();
+            if (ktr < minKtr)
+                return 0;
+        }
+        return ktr;
+    }
+
+    /**
+     * Ray-triangle intersection on the arrays (Möller–Trumbore): solves start + t*dir = A + u*(B-A) + v*(C-A)
+     * directly, without the plane of the face.
+     * Unlike {@link Triangle}, the edges and the vertices are included - neighbour faces share them,
+     * and a ray through a shared edge must not pass through the mesh
+     * @param face the index of the face
+     * @param ray the given ray
+     * @param maxT intersections at this distance or further are ignored
+     * @return the distance of the intersection, positive infinity if there is none in the range (0, maxT)
+     */
+    private double intersectFace(int face, Ray ray, double maxT) {
+        double dx = ray.getDirection(0), dy = ray.getDirection(1), dz = ray.getDirection(2);
+        int a = 3 * indices[3 * face], b = 3 * indices[3 * face + 1], c = 3 * indices[3 * face + 2];
+        double ax = vertices[a], ay = vertices[a + 1], az = vertices[a + 2];
+        double e1x = vertices[b] - ax, e1y = vertices[b + 1] - ay, e1z = vertices[b + 2] - az;
+        double e2x = vertices[c] - ax, e2y = vertices[c + 1] - ay, e2z = vertices[c + 2] - az;
+        // p = dir x e2
+        double px = dy * e2z - dz * e2y, py = dz * e2x - dx * e2z, pz = dx * e2y - dy * e2x;
+        double det = e1x * px + e1y * py + e1z * pz;
+        if (isZero(det))
+            return Double.POSITIVE_INFINITY; // the ray is parallel to the face (or the face is degenerate)
+        double invDet = 1 / det;
+        double sx = ray.getStart(0) - ax, sy = ray.getStart(1) - ay, sz = ray.getStart(2) - az;
+        double u = (sx * px + sy * py + sz * pz) * invDet;
+        if (u < 0 || u > 1)
+            return Double.POSITIVE_INFINITY;
+        // q = s x e1
+        double qx = sy * e1z - sz * e1y, qy = sz * e1x - sx * e1z, qz = sx * e1y - sy * e1x;
+        double v = (dx * qx + dy * qy + dz * qz) * invDet;
+        if (v < 0 || u + v > 1)
+            return Double.POSITIVE_INFINITY;
+        double t = alignZero((e2x * qx + e2y * qy + e2z * qz) * invDet);
+        return t <= 0 || t >= maxT ? Double.POSITIVE_INFINITY : t;
+    }
+    //endregion
+
+    //region Helpful functions
+
+    /**
+     * @param face index of a face
+     * @return the palette entry of the face
+     */
+    private int paletteEntry(int face) {
+        return faceMaterials == null ? 0 : faceMaterials[face];
+    }
+
+    /**
+     * @param vertex index of a vertex
+     * @return the vertex as a point
+     */
+    private Point3D vertex(int vertex) {
+        return new Point3D(vertices[3 * vertex], vertices[3 * vertex + 1], vertices[3 * vertex + 2]);
+    }
+    //endregion
+
+    /**
+     * A face of the mesh as a geometry. The mesh keeps no object per face - a face object is created
+     * for an intersection only (a flyweight), and it refers back to the arrays of the mesh
+     */
+    public static class Face extends Geometry {
+        private final TriangleMesh mesh;
+        private final int index;
+
+        /**
+         * Constructor
+         * @param mesh the mesh of the face
+         * @param index the index of the face in the mesh
+         */
+        private Face(TriangleMesh mesh, int index) {
+            super(mesh.emissions[mesh.paletteEntry(index)], mesh.materials[mesh.paletteEntry(index)]);
+            this.mesh = mesh;
+            this.index = index;
+        }
+
+        /**
+         * @return the mesh of the face
+         */
+        public TriangleMesh getMesh() {
+            return mesh;
+        }
+
+        /**
+         * @return the index of the face in the mesh
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * @param k 0, 1 or 2
+         * @return the k-th vertex of the face
+         */
+        public Point3D getVertex(int k) {
+            if (k < 0 || k > 2)
+                throw new IndexOutOfBoundsException("A face has 3 vertices");
+            return mesh.vertex(mesh.indices[3 * index + k]);
+        }
+
+        @Override
+        public Vector getNormal(Point3D point) {
+            // The same orientation as the plane of a triangle with these vertices
+            Point3D a = getVertex(0);
+            return getVertex(1).subtract(a).crossProduct(getVertex(2).subtract(a)).normalize();
+        }
+
+        @Override
+        protected BoundingBox calcBoundingBox() {
+            return new BoundingBox(getVertex(0), getVertex(1), getVertex(2));
+        }
+
+        @Override
+        public List<GeoPoint> findIntersections(Ray ray) {
+            double t = mesh.intersectFace(index, ray, Double.POSITIVE_INFINITY);
+            if (t == Double.POSITIVE_INFINITY)
+                return null;
+            List<GeoPoint> ret = new ArrayList<>();
+            ret.add(new GeoPoint(this, ray.getPoint(t)));
+            return ret;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Face)) return false;
+            Face other = (Face) obj;
+            return mesh == other.mesh && index == other.index;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(mesh) + index;
+        }
+
+        @Override
+        public String toString() {
+            return "face " + index + ": " + getVertex(0) + ", " + getVertex(1) + ", " + getVertex(2);
+        }
+    }
+}
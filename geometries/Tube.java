@@ -110,5 +110,41 @@ public class Tube extends RadialGeometry {
             ret.add(new GeoPoint(this, start.add(dir.scale(t2))));
         return ret;
     }
+
+    @Override
+    public GeoPoint findClosestIntersection(Ray ray, double maxT) {
+        // Same equation as in findIntersections(), but only the nearest positive root is turned into a point
+        Point3D start = ray.getStart();
+        Vector dir = ray.getDirection();
+        Vector K;
+        try {
+            K = dir.crossProduct(axisRay.getDirection());
+        } catch (IllegalArgumentException e) {
+            return null; // Ray is parallel to the center line
+        }
+        double t;
+        Vector E = null;
+        try {
+            E = start.subtract(axisRay.getStart()).crossProduct(axisRay.getDirection());
+        } catch (IllegalArgumentException ignored) {
+            // E = Vector0 - the start is on the center line
+        }
+        if (E == null)
+            t = getRadius() / K.length();
+        else {
+            double a = K.lengthSquared();
+            double b = 2 * K.dotProduct(E);
+            double c = E.lengthSquared() - getRadiusSquared();
+            double delta = alignZero(b*b - 4*a*c);
+            if (delta <= 0) //Line not intersecting or tangent (delta == 0)
+                return null;
+            double sDelta = Math.sqrt(delta);
+            double t1 = alignZero((-b+sDelta)/(2*a));
+            double t2 = alignZero((-b-sDelta)/(2*a));
+            if (t1<=0) return null; // Both t1, t2 are non-positive case
+            t = t2 > 0 ? t2 : t1;
+        }
+        return t < maxT ? new GeoPoint(this, start.add(dir.scale(t))) : null;
+    }
     //endregion
 }
@@ -127,6 +127,27 @@ public class Color {
         return new java.awt.Color(r > 255 ? 255 : r, g > 255 ? 255 : g, b > 255 ? 255 : b);
     }
 
+    /**
+     * @return the red component (without upper limit)
+     */
+    public double getRed() {
+        return _r;
+    }
+
+    /**
+     * @return the green component (without upper limit)
+     */
+    public double getGreen() {
+        return _g;
+    }
+
+    /**
+     * @return the blue component (without upper limit)
+     */
+    public double getBlue() {
+        return _b;
+    }
+
     /**
      * Operation of adding this and one or more other colors (by component)
      *
@@ -0,0 +1,161 @@
+package primitives;
+
+/**
+ * Mutable RGB accumulator for the renderer's hot paths.
+ * Unlike {@link Color}, the operations change the object itself instead of creating a new one,
+ * so the light contributions of a shaded point can be summed without temporary colors.
+ * The components are kept without upper limit, like in {@link Color}
+ */
+public class MutableColor {
+    private double r, g, b;
+
+    //region Constructors
+
+    /**
+     * Default constructor - black
+     */
+    public MutableColor() {}
+
+    /**
+     * Constructor
+     * @param c the color to copy the components from
+     */
+    public MutableColor(Color c) {
+        set(c);
+    }
+    //endregion
+
+    //region Getters & Setters
+
+    /**
+     * @return the red component
+     */
+    public double getRed() {
+        return r;
+    }
+
+    /**
+     * @return the green component
+     */
+    public double getGreen() {
+        return g;
+    }
+
+    /**
+     * @return the blue component
+     */
+    public double getBlue() {
+        return b;
+    }
+
+    /**
+     * Resets the accumulator to black
+     * @return this
+     */
+    public MutableColor setBlack() {
+        r = g = b = 0;
+        return this;
+    }
+
+    /**
+     * Copies the components of a color
+     * @param c the source color
+     * @return this
+     */
+    public MutableColor set(Color c) {
+        r = c.getRed();
+        g = c.getGreen();
+        b = c.getBlue();
+        return this;
+    }
+
+    /**
+     * Copies the components of another accumulator
+     * @param c the source accumulator
+     * @return this
+     */
+    public MutableColor set(MutableColor c) {
+        r = c.r;
+        g = c.g;
+        b = c.b;
+        return this;
+    }
+
+    /**
+     * @return new immutable color with the components of this accumulator
+     */
+    public Color toColor() {
+        return new Color(r, g, b);
+    }
+    //endregion
+
+    //region Operations
+
+    /**
+     * this = this + c
+     * @param c the color to add
+     * @return this
+     */
+    public MutableColor add(Color c) {
+        r += c.getRed();
+        g += c.getGreen();
+        b += c.getBlue();
+        return this;
+    }
+
+    /**
+     * this = this + c
+     * @param c the accumulator to add
+     * @return this
+     */
+    public MutableColor add(MutableColor c) {
+        r += c.r;
+        g += c.g;
+        b += c.b;
+        return this;
+    }
+
+    /**
+     * this = this + c * k, without creating the scaled color
+     * @param c the accumulator to add
+     * @param k scale factor of c
+     * @return this
+     */
+    public MutableColor addScaled(MutableColor c, double k) {
+        if (k < 0)
+            throw new IllegalArgumentException("Can't scale a color by a negative number");
+        r += c.r * k;
+        g += c.g * k;
+        b += c.b * k;
+        return this;
+    }
+
+    /**
+     * this = this * k
+     * @param k scale factor
+     * @return this
+     */
+    public MutableColor scale(double k) {
+        if (k < 0)
+            throw new IllegalArgumentException("Can't scale a color by a negative number");
+        r *= k;
+        g *= k;
+        b *= k;
+        return this;
+    }
+
+    /**
+     * this = this / k
+     * @param k reduction factor
+     * @return this
+     */
+    public MutableColor reduce(double k) {
+        if (k < 1)
+            throw new IllegalArgumentException("Can't scale a color by a by a number lower than 1");
+        r /= k;
+        g /= k;
+        b /= k;
+        return this;
+    }
+    //endregion
+}
@@ -1,13 +1,20 @@
 package primitives;
 
+import static primitives.Util.*;
+
 /**
  * Represents a point in the 3D space
  */
 public class Point3D {
 
-    private Coordinate x;
-    private Coordinate y;
-    private Coordinate z;
+    /**
+     * Coordinate values, kept flat (instead of three Coordinate objects) and
+     * intentionally "package-friendly" due to performance constraints -
+     * the vector math creates lots of points and vectors
+     */
+    final double x;
+    final double y;
+    final double z;
 
     public static final Point3D ZERO = new Point3D(0,0,0);
 
@@ -20,9 +27,9 @@ public class Point3D {
      * @param z value in the Z field
      */
     public Point3D(Coordinate x, Coordinate y, Coordinate z) {
-        this.x = x;
-        this.y = y;
-        this.z = z;
+        this.x = x._coord;
+        this.y = y._coord;
+        this.z = z._coord;
     }
 
 
@@ -33,9 +40,10 @@ public class Point3D {
      * @param z value in the Z field
      */
     public Point3D(double x, double y, double z) {
-        this.x = new Coordinate(x);
-        this.y = new Coordinate(y);
-        this.z = new Coordinate(z);
+        // if it too close to zero make it zero (as Coordinate does)
+        this.x = alignZero(x);
+        this.y = alignZero(y);
+        this.z = alignZero(z);
     }
 
 
@@ -54,7 +62,7 @@ public class Point3D {
      * @return the X value
      */
     public Coordinate getX() {
-        return x;
+        return new Coordinate(x);
     }
 
 
@@ -62,7 +70,7 @@ public class Point3D {
      * @return the Y value
      */
     public Coordinate getY() {
-        return y;
+        return new Coordinate(y);
     }
 
 
@@ -70,6 +78,30 @@ public class Point3D {
      * @return the Z value
      */
     public Coordinate getZ() {
+        return new Coordinate(z);
+    }
+
+    /**
+     * Same as getX().get(), without wrapping the value
+     * @return the X value
+     */
+    public double getXValue() {
+        return x;
+    }
+
+    /**
+     * Same as getY().get(), without wrapping the value
+     * @return the Y value
+     */
+    public double getYValue() {
+        return y;
+    }
+
+    /**
+     * Same as getZ().get(), without wrapping the value
+     * @return the Z value
+     */
+    public double getZValue() {
         return z;
     }
 
@@ -81,11 +113,7 @@ public class Point3D {
      * @return the calculation of the subtraction between them
      */
     public Vector subtract(Point3D other) {
-        double subX = (this.x.get() - other.x.get());
-        double subY = (this.y.get() - other.y.get());
-        double subZ = (this.z.get() - other.z.get());
-
-        return new Vector(subX, subY, subZ);
+        return new Vector(x - other.x, y - other.y, z - other.z);
     }
 
 
@@ -94,10 +122,7 @@ public class Point3D {
      * @return The calculation of the sum between primitives.Vector and Point in the 3D space
      */
     public Point3D add(Vector other) {
-        double addX = this.x.get() + other.getEnd().getX().get();
-        double addY = this.y.get() + other.getEnd().getY().get();
-        double addZ = this.z.get() + other.getEnd().getZ().get();
-        return new Point3D(addX, addY, addZ);
+        return new Point3D(x + other.x, y + other.y, z + other.z);
     }
 
 
@@ -106,16 +131,12 @@ public class Point3D {
      * @return (distance between two points) ^ 2
      */
     public double distanceSquared(Point3D other) {
-        double subX = this.x.get() - other.x.get();
-        double subY = this.y.get() - other.y.get();
-        double subZ = this.z.get() - other.z.get();
+        double subX = x - other.x;
+        double subY = y - other.y;
+        double subZ = z - other.z;
 
         // using pow as a*a and not as Math.pow()
-        subX = (subX * subX);
-        subY = (subY * subY);
-        subZ = (subZ * subZ);
-
-        return (subX + subY + subZ);
+        return subX * subX + subY * subY + subZ * subZ;
     }
 
 
@@ -141,11 +162,11 @@ public class Point3D {
         if (this == obj) return true; // if I's me - return true
         if (obj == null || getClass() != obj.getClass()) return false; // if I'm compared to null or to someone who not me - return false
         Point3D point3D = (Point3D) obj;
-        return x.equals(point3D.x) && y.equals(point3D.y) && z.equals(point3D.z);
+        // the same accuracy as Coordinate.equals()
+        return isZero(x - point3D.x) && isZero(y - point3D.y) && isZero(z - point3D.z);
     }
 
 
     //endregion
 
 }
-
@@ -8,14 +8,25 @@ import static geometries.Intersectable.GeoPoint;
  * set of points on line
  */
 public class Ray {
-    private Point3D start;
-    private Vector direction;
+    private final Point3D start;
+    private final Vector direction;
+
+    // The components of the ray as plain doubles, prepared once for the intersection code - reading them
+    // needs no copy of the start point or the direction. A single array (instead of three) keeps the
+    // creation of a ray cheap: {start x, y, z, direction x, y, z, 1/direction x, y, z}
+    private final double[] components;
+    private final int signs; // bit of every axis in which the direction is negative
 
     /**
      * In order to determine the amount of moving, shadow and reflection
      */
     private static final double DELTA = 0.1;
 
+    /**
+     * A direction whose squared length is this close to 1 is already a unit vector, and isn't normalized again
+     */
+    private static final double UNIT_TOLERANCE = 1e-12;
+
     //region Constructors
 
     /**
@@ -24,8 +35,18 @@ public class Ray {
      * @param direction the direction of the Ray
      */
     public Ray(Point3D start, Vector direction){
-        this.start = new Point3D(start);
-        this.direction = direction.normalized();
+        // Point3D and Vector are immutable - no need to copy them.
+        // The secondary and the shadow rays get unit directions already - they are kept without a new vector
+        this.start = start;
+        this.direction = Math.abs(direction.lengthSquared() - 1) < UNIT_TOLERANCE ? direction : direction.normalize();
+        double dx = this.direction.x, dy = this.direction.y, dz = this.direction.z;
+        // the inverse is infinite on a zero component - the slab tests treat it as parallel
+        components = new double[] {start.x, start.y, start.z, dx, dy, dz, 1 / dx, 1 / dy, 1 / dz};
+        int bits = 0;
+        for (int axis = 0; axis < 3; ++axis)
+            if (components[6 + axis] < 0)
+                bits |= 1 << axis;
+        signs = bits;
     }
 
     /**
@@ -33,8 +54,11 @@ public class Ray {
      * @param other item to copy
      */
     public Ray(Ray other){
-        this.start = new Point3D(other.start);
-        this.direction = new Vector(other.direction);
+        // nothing of the ray is ever changed, so everything can be shared
+        this.start = other.start;
+        this.direction = other.direction;
+        this.components = other.components;
+        this.signs = other.signs;
     }
 
     /**
@@ -44,32 +68,59 @@ public class Ray {
      * @param normal the normal to the surface
      */
     public Ray(Point3D originP, Vector direction, Vector normal){
-        // Implementing the fix in the correct way
-        // The amount of movement down/up
-        Vector deltaVector = normal.scale(normal.dotProduct(direction) > 0 ? DELTA : -DELTA);
-
-        // Initializing start
-        this.start = originP.add(deltaVector);
-
-        // There was no movement in the direction, just in the position
-        this.direction = new Vector(direction).normalized();
+        // The start is moved by DELTA up/down the normal,
+        // there is no movement in the direction, just in the position
+        this(originP.add(normal.scale(normal.dotProduct(direction) > 0 ? DELTA : -DELTA)), direction);
     }
     //endregion
 
     //region Getters & Overrides
 
     /**
-     * @return the value of the start Point
+     * @return the start Point (points are immutable - it's not a copy)
      */
     public Point3D getStart() {
-        return new Point3D(start);
+        return start;
     }
 
     /**
-     * @return the value of the direction vector
+     * @return the direction vector (vectors are immutable, so it is returned as is)
      */
     public Vector getDirection() {
-        return new Vector(direction);
+        return direction;
+    }
+
+    /**
+     * @param axis 0, 1 or 2 for x, y or z
+     * @return the component of the start point on the axis
+     */
+    public double getStart(int axis) {
+        return components[axis];
+    }
+
+    /**
+     * @param axis 0, 1 or 2 for x, y or z
+     * @return the component of the (unit) direction on the axis
+     */
+    public double getDirection(int axis) {
+        return components[3 + axis];
+    }
+
+    /**
+     * @param axis 0, 1 or 2 for x, y or z
+     * @return 1 / the component of the direction on the axis - infinite if the ray is parallel to the axis planes
+     */
+    public double getInverseDirection(int axis) {
+        return components[6 + axis];
+    }
+
+    /**
+     * @param axis 0, 1 or 2 for x, y or z
+     * @return 1 if the direction is negative on the axis, otherwise 0 - the index of the slab plane
+     * a slab test meets first (0 for the min plane, 1 for the max plane)
+     */
+    public int getSign(int axis) {
+        return (signs >> axis) & 1;
     }
 
 
@@ -100,14 +151,20 @@ public class Ray {
      */
     public double getT(Point3D p) {
         // (Xs, Ys, Zs) + t(Xd, Yd, Zd) = (Xs + tXd, Ys + tYd, Zs + tZd) = (Xp, Yp, Zp)
-        double rayDirX = direction.getEnd().getX().get();
-        if (rayDirX != 0)
-            return (p.getX().get() - start.getX().get())/ rayDirX;
-        double rayDirY = direction.getEnd().getY().get();
-        if (rayDirY != 0)
-            return (p.getY().get() - start.getY().get())/ rayDirY;
-        double rayDirZ = direction.getEnd().getZ().get();
-        return (p.getZ().get() - start.getZ().get())/ rayDirZ;
+        if (direction.x != 0)
+            return (p.x - start.x) / direction.x;
+        if (direction.y != 0)
+            return (p.y - start.y) / direction.y;
+        return (p.z - start.z) / direction.z;
+    }
+
+    /**
+     * @param t distance along the ray
+     * @return the point of the ray at the given distance - start + t * direction
+     */
+    public Point3D getPoint(double t) {
+        return new Point3D(components[0] + components[3] * t, components[1] + components[4] * t,
+                components[2] + components[5] * t);
     }
 
     /**
@@ -0,0 +1,177 @@
+package primitives;
+
+import static primitives.Util.*;
+
+/**
+ * Mutable 3D vector for scratch calculations in the hot paths of the renderer.
+ * Unlike {@link Vector}, the operations change the object itself instead of creating a new one,
+ * so a single instance (e.g. one per thread) can be reused for every shaded point.
+ * The components are aligned to zero the same way {@link Vector} does,
+ * so the results are identical to the immutable calculation
+ */
+public class Vec3 {
+    private double x, y, z;
+
+    //region Constructors
+
+    /**
+     * Default constructor - zero vector
+     */
+    public Vec3() {}
+
+    /**
+     * Constructor
+     * @param v the vector to copy the components from
+     */
+    public Vec3(Vector v) {
+        set(v);
+    }
+    //endregion
+
+    //region Getters & Setters
+
+    /**
+     * @return the X component
+     */
+    public double getX() {
+        return x;
+    }
+
+    /**
+     * @return the Y component
+     */
+    public double getY() {
+        return y;
+    }
+
+    /**
+     * @return the Z component
+     */
+    public double getZ() {
+        return z;
+    }
+
+    /**
+     * Copies the components of a vector
+     * @param v the source vector
+     * @return this
+     */
+    public Vec3 set(Vector v) {
+        x = v.x;
+        y = v.y;
+        z = v.z;
+        return this;
+    }
+
+    /**
+     * Copies the components of another scratch vector
+     * @param v the source vector
+     * @return this
+     */
+    public Vec3 set(Vec3 v) {
+        x = v.x;
+        y = v.y;
+        z = v.z;
+        return this;
+    }
+
+    /**
+     * @param x the X component
+     * @param y the Y component
+     * @param z the Z component
+     * @return this
+     */
+    public Vec3 set(double x, double y, double z) {
+        this.x = alignZero(x);
+        this.y = alignZero(y);
+        this.z = alignZero(z);
+        return this;
+    }
+
+    /**
+     * @return new immutable vector with the components of this one
+     * @throws IllegalArgumentException in case this is the zero vector
+     */
+    public Vector toVector() {
+        return new Vector(x, y, z);
+    }
+
+    @Override
+    public String toString() {
+        return "(" + x + "," + y + "," + z + ')';
+    }
+    //endregion
+
+    //region Math
+
+    /**
+     * this = this + v
+     * @param v the vector to add
+     * @return this
+     */
+    public Vec3 add(Vector v) {
+        return set(x + v.x, y + v.y, z + v.z);
+    }
+
+    /**
+     * this = this - v * k, same as this.subtract(v.scale(k)) of {@link Vector}
+     * @param v the vector to subtract
+     * @param k scale factor of v
+     * @return this
+     */
+    public Vec3 subtractScaled(Vector v, double k) {
+        return set(x - alignZero(v.x * k), y - alignZero(v.y * k), z - alignZero(v.z * k));
+    }
+
+    /**
+     * this = this * k
+     * @param k scale factor
+     * @return this
+     */
+    public Vec3 scale(double k) {
+        return set(x * k, y * k, z * k);
+    }
+
+    /**
+     * @param v the second vector
+     * @return the dot product of this and v
+     */
+    public double dotProduct(Vector v) {
+        return x * v.x + y * v.y + z * v.z;
+    }
+
+    /**
+     * @param v the second vector
+     * @return the dot product of this and v
+     */
+    public double dotProduct(Vec3 v) {
+        return x * v.x + y * v.y + z * v.z;
+    }
+
+    /**
+     * @return the length of the vector squared
+     */
+    public double lengthSquared() {
+        return x * x + y * y + z * z;
+    }
+
+    /**
+     * @return the length of the vector
+     */
+    public double length() {
+        return Math.sqrt(lengthSquared());
+    }
+
+    /**
+     * Normalizing this vector
+     * @return this
+     */
+    public Vec3 normalize() {
+        double l = length();
+        x = alignZero(x / l);
+        y = alignZero(y / l);
+        z = alignZero(z / l);
+        return this;
+    }
+    //endregion
+}
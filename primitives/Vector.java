@@ -3,10 +3,17 @@ package primitives;
 import static primitives.Util.*;
 
 /**
- * Represents a primitives.Vector in the 3D space
+ * Represents a primitives.Vector in the 3D space. Vectors are immutable - every operation,
+ * normalize() included, returns a new vector, so a vector can be shared by threads freely
  */
 public class Vector {
-    private Point3D end;
+    /**
+     * The end point values, kept flat (instead of Point3D of three Coordinates) and
+     * intentionally "package-friendly" due to performance constraints
+     */
+    final double x;
+    final double y;
+    final double z;
 
     //region Constructors
 
@@ -17,10 +24,7 @@ public class Vector {
      * @param z value of end point
      */
     public Vector(Coordinate x, Coordinate y, Coordinate z) {
-        Point3D p = new Point3D(x, y, z);
-        if (p.equals(Point3D.ZERO))
-            throw new IllegalArgumentException("Vector can not be zero");
-        this.end = p;
+        this(x._coord, y._coord, z._coord);
     }
 
     /**
@@ -30,10 +34,12 @@ public class Vector {
      * @param z value of end point
      */
     public Vector(double x, double y, double z) {
-        Point3D p = new Point3D(x, y, z);
-        if (p.equals(Point3D.ZERO))
+        this.x = alignZero(x);
+        this.y = alignZero(y);
+        this.z = alignZero(z);
+        // the values are aligned, so an "almost zero" vector is exactly zero here
+        if (this.x == 0 && this.y == 0 && this.z == 0)
             throw new IllegalArgumentException("Vector can not be zero");
-        this.end = p;
     }
 
     /**
@@ -41,9 +47,11 @@ public class Vector {
      * @param end point
      */
     public Vector(Point3D end) {
-        if (end.equals(Point3D.ZERO))
+        if (end.x == 0 && end.y == 0 && end.z == 0)
             throw new IllegalArgumentException("Vector can not be zero");
-        this.end = end;
+        this.x = end.x;
+        this.y = end.y;
+        this.z = end.z;
     }
 
     /**
@@ -51,7 +59,9 @@ public class Vector {
      * @param v primitives.Vector to copy
      */
     public Vector(Vector v) {
-        this.end = v.end;
+        this.x = v.x;
+        this.y = v.y;
+        this.z = v.z;
     }
     //endregion
 
@@ -62,12 +72,36 @@ public class Vector {
      * @return end point
      */
     public Point3D getEnd() {
-        return end;
+        return new Point3D(x, y, z);
+    }
+
+    /**
+     * Same as getEnd().getX().get(), without creating the point
+     * @return the X value of the end point
+     */
+    public double getXValue() {
+        return x;
+    }
+
+    /**
+     * Same as getEnd().getY().get(), without creating the point
+     * @return the Y value of the end point
+     */
+    public double getYValue() {
+        return y;
+    }
+
+    /**
+     * Same as getEnd().getZ().get(), without creating the point
+     * @return the Z value of the end point
+     */
+    public double getZValue() {
+        return z;
     }
 
     @Override
     public String toString() {
-        return end.toString();
+        return "(" + x + "," + y + "," + z + ')';
     }
 
     @Override
@@ -75,7 +109,7 @@ public class Vector {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Vector vector = (Vector) o;
-        return end.equals(vector.end);
+        return isZero(x - vector.x) && isZero(y - vector.y) && isZero(z - vector.z);
     }
     //endregion
 
@@ -87,7 +121,7 @@ public class Vector {
      * @return The solution primitives.Vector
      */
     public Vector add(Vector other) {
-        return new Vector(end.add(other));
+        return new Vector(x + other.x, y + other.y, z + other.z);
     }
 
     /**
@@ -96,7 +130,7 @@ public class Vector {
      * @return The solution primitives.Vector
      */
     public Vector subtract(Vector other) {
-        return end.subtract(other.end);
+        return new Vector(x - other.x, y - other.y, z - other.z);
     }
 
     /**
@@ -105,10 +139,7 @@ public class Vector {
      * @return The solution primitives.Vector
      */
     public Vector scale(double a) {
-        Vector ret;
-        return new Vector(end.getX().get()*a,
-                                end.getY().get()*a,
-                                end.getZ().get()*a);
+        return new Vector(x * a, y * a, z * a);
     }
 
     /**
@@ -117,9 +148,7 @@ public class Vector {
      * @return The solution
      */
     public double dotProduct(Vector other) {
-        return end.getX().get() * other.end.getX().get()
-                + end.getY().get() * other.end.getY().get()
-                + end.getZ().get() * other.end.getZ().get();
+        return x * other.x + y * other.y + z * other.z;
     }
 
     /**
@@ -128,15 +157,9 @@ public class Vector {
      * @return The solution primitives.Vector
      */
     public Vector crossProduct(Vector other) {
-        double v1x = end.getX().get(),
-                v1y = end.getY().get(),
-                v1z = end.getZ().get(),
-                v2x = other.end.getX().get(),
-                v2y = other.end.getY().get(),
-                v2z = other.end.getZ().get();
-        return new Vector(v1y*v2z - v1z*v2y,
-                                v1z*v2x - v1x*v2z,
-                                v1x*v2y - v1y*v2x);
+        return new Vector(y * other.z - z * other.y,
+                          z * other.x - x * other.z,
+                          x * other.y - y * other.x);
     }
 
     /**
@@ -144,7 +167,7 @@ public class Vector {
      * @return The length Squared
      */
     public double lengthSquared(){
-        return end.distanceSquared(Point3D.ZERO);
+        return x * x + y * y + z * z;
     }
 
     /**
@@ -156,23 +179,20 @@ public class Vector {
     }
 
     /**
-     * Normalizing this primitives.Vector.
-     * @return this
+     * Normalizing this primitives.Vector - the vector itself is not changed.
+     * @return new unit vector in the direction of this vector
      */
     public Vector normalize(){
         double l = length();
-        end = new Point3D(end.getX().get()/l,
-                          end.getY().get()/l,
-                          end.getZ().get()/l);
-        return this;
+        return new Vector(x / l, y / l, z / l);
     }
 
     /**
-     * Normalizing this primitives.Vector.
-     * @return A copy of this
+     * Same as {@link Vector#normalize()} (kept for the existing callers)
+     * @return new unit vector in the direction of this vector
      */
     public Vector normalized(){
-        return new Vector(normalize());
+        return normalize();
     }
 
     /**
@@ -186,20 +206,14 @@ public class Vector {
         // Vrot = Vcost + (KxV)sint + K(KV)(1 - cost)
         double cost = alignZero(Math.cos(theta)); // both sin() and cos() are resets in pi*(0/(pi/2)/pi...)
         double sint = alignZero(Math.sin(theta));
-        Vector vcost = isZero(cost)? null : scale(cost);
-        Vector kvsint = isZero(sint)? null : k.crossProduct(this).scale(sint);
-        Vector kkv;
-        try {
-            kkv = k.scale(alignZero(k.dotProduct(this)*(1- cost)));
-        }
-        catch (IllegalArgumentException e) {
-            kkv = null;
-        }
-        Point3D endrot = Point3D.ZERO;
-        endrot = vcost == null? endrot : endrot.add(vcost);
-        endrot = kvsint == null? endrot : endrot.add(kvsint);
-        endrot = kkv == null? endrot : endrot.add(kkv);
-        return new Vector(endrot);
+        double kkv = alignZero(k.dotProduct(this) * (1 - cost));
+        // KxV, calculated in place
+        double kvx = k.y * z - k.z * y;
+        double kvy = k.z * x - k.x * z;
+        double kvz = k.x * y - k.y * x;
+        return new Vector(x * cost + kvx * sint + k.x * kkv,
+                          y * cost + kvy * sint + k.y * kkv,
+                          z * cost + kvz * sint + k.z * kkv);
     }
 
     /**
@@ -211,18 +225,15 @@ public class Vector {
         // (A,B,C) - The normal to the plane
         // by using this formula, it is possible to extract the orthogonal
         // to this vector
-        double vx = end.getX().get();
-        double vy = end.getY().get();
-        double vz = end.getZ().get();
-        if(!isZero(vx)) {
-            double coordx = -(vy + vz)/vx;
+        if(!isZero(x)) {
+            double coordx = -(y + z)/x;
             return new Vector(coordx, 1,1).normalize();
         }
-        if(!isZero(vy)) {
-            double coordy = -(vx + vz)/vy;
+        if(!isZero(y)) {
+            double coordy = -(x + z)/y;
             return new Vector(1, coordy,1).normalize();
         }
-        double coordz = -(vy + vx)/vz;
+        double coordz = -(y + x)/z;
         return new Vector(1, 1,coordz).normalize();
     }
     //endregion
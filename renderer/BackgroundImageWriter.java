@@ -0,0 +1,80 @@
+package renderer;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes the image file on a dedicated background thread, so the rendering threads
+ * never wait for the encoding and the disk.
+ * During the rendering it can write checkpoints of the partial image. Since there is a single
+ * writing thread and the next checkpoint is scheduled only after the previous one is written,
+ * the checkpoints never pile up - there is at most one every interval.
+ * The writing thread lives until {@link BackgroundImageWriter#close()}. It is a daemon thread, so it
+ * doesn't keep the program alive - close() must be called to be sure the pending writings are done
+ */
+class BackgroundImageWriter implements AutoCloseable {
+    private final ImageWriter imageWriter;
+    private final ScheduledExecutorService executor;
+    private ScheduledFuture<?> checkpoints = null;
+
+    /**
+     * Constructor
+     * @param imageWriter the image to write
+     */
+    BackgroundImageWriter(ImageWriter imageWriter) {
+        this.imageWriter = imageWriter;
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "image-writer");
+            thread.setDaemon(true); // a pending checkpoint mustn't keep the program alive
+            return thread;
+        });
+    }
+
+    /**
+     * Starts writing checkpoints of the image periodically
+     * @param intervalMillis the time between the end of a checkpoint and the start of the next one
+     */
+    synchronized void startCheckpoints(long intervalMillis) {
+        stopCheckpoints();
+        checkpoints = executor.scheduleWithFixedDelay(imageWriter::writeToImage,
+                intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops writing checkpoints - a checkpoint which is already being written is completed
+     */
+    synchronized void stopCheckpoints() {
+        if (checkpoints != null) {
+            checkpoints.cancel(false);
+            checkpoints = null;
+        }
+    }
+
+    /**
+     * Writes the image (after the checkpoint being written, if any). The pixels are copied now,
+     * so the image may be rendered again (the next frame) before it is written
+     * @return the pending writing
+     */
+    Future<?> write() {
+        float[] pixels = imageWriter.snapshot();
+        return executor.submit(() -> imageWriter.writeToImage(pixels));
+    }
+
+    /**
+     * Stops the writing thread - the checkpoints are stopped, and the pending writings are completed
+     * before it returns
+     */
+    @Override
+    public synchronized void close() {
+        stopCheckpoints();
+        executor.shutdown();
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // the pending writings go on, without waiting for them
+        }
+    }
+}
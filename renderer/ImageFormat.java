@@ -0,0 +1,40 @@
+package renderer;
+
+/**
+ * The file formats of the images written by {@link ImageWriter}
+ */
+public enum ImageFormat {
+    /**
+     * JPEG in the best quality - small files, but lossy
+     */
+    JPEG("jpg"),
+    /**
+     * PNG - lossless 8 bit per component, for regression comparisons
+     */
+    PNG("png"),
+    /**
+     * Binary portable pixmap (P6) - raw 8 bit per component, no compression at all
+     */
+    PPM("ppm"),
+    /**
+     * Portable float map - raw 32 bit float per component, keeps the colors above 255 (HDR)
+     */
+    PFM("pfm");
+
+    private final String extension;
+
+    /**
+     * Constructor
+     * @param extension the file name extension of the format
+     */
+    ImageFormat(String extension) {
+        this.extension = extension;
+    }
+
+    /**
+     * @return the file name extension of the format (without the dot)
+     */
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -2,8 +2,16 @@ package renderer;
 
 import java.awt.Color;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 
 import javax.imageio.*;
 import javax.imageio.stream.*;
@@ -11,6 +19,9 @@ import javax.imageio.stream.*;
 /**
  * Image writer class combines accumulation of pixel color matrix and
  * finally producing a non-optimized jpeg image from this matrix.
+ * The matrix keeps the colors as floats without upper limit (HDR), and they are
+ * converted into 8 bit per component only when the image is written.
+ * Besides jpeg, the image can be written as png, ppm or pfm (see {@link ImageFormat}).
  * The class although is responsible of holding image related parameters
  * of View Plane - pixel matrix size and resolution 
  * @author Dan
@@ -21,9 +32,17 @@ public class ImageWriter {
 
 	private final String PROJECT_PATH = System.getProperty("user.dir");
 
-	private BufferedImage _image;
+	// RGB components of the pixels, row by row - {r, g, b} of pixel (x, y) start at 3 * (y * nX + x).
+	// Render threads write disjoint pixels, so there is no need to synchronize
+	private final float[] _pixels;
 
 	private String _imageName;
+	private ImageFormat _format = ImageFormat.JPEG;
+	private volatile long _encodeNanos = 0; // duration of the last writing of the image
+
+	// The colors of the heatmap scale, from the lowest value to the highest
+	private static final int[][] HEAT_STOPS = {
+			{0, 0, 0}, {0, 0, 255}, {0, 255, 255}, {0, 255, 0}, {255, 255, 0}, {255, 0, 0}};
 
 	// ***************** Constructors ********************** //
 	/**
@@ -41,7 +60,7 @@ public class ImageWriter {
 		_nX = nX;
 		_nY = nY;
 
-		_image = new BufferedImage(_nX, _nY, BufferedImage.TYPE_INT_RGB);
+		_pixels = new float[3 * _nX * _nY];
 	}
 
 	// ***************** Getters/Setters ********************** //
@@ -67,28 +86,179 @@ public class ImageWriter {
      */
 	public int getNx() { return _nX; }
 
+	/**
+	 * Image file format getter
+	 * @return the format the image is written in
+	 */
+	public ImageFormat getFormat() { return _format; }
+
+	/**
+	 * Image file format setter
+	 * @param format the format to write the image in (default - jpeg)
+	 * @return the ImageWriter object itself
+	 */
+	public ImageWriter setFormat(ImageFormat format) {
+		if (format == null) throw new IllegalArgumentException("Image format can't be null");
+		_format = format;
+		return this;
+	}
+
+	/**
+	 * @return the time it took to write the image the last time (encoding and disk), in milliseconds
+	 */
+	public double getLastEncodeMillis() { return _encodeNanos / 1e6; }
+
 	// ***************** Operations ******************** //
 
 	/**
-	 * Function writeToImage produces unoptimized jpeg file of
-	 * the image according to pixel color matrix in the directory
-	 * of the project
+	 * Function writeToImage produces the image file, according to pixel color matrix,
+	 * in the directory of the project. The format is chosen by {@link ImageWriter#setFormat(ImageFormat)}.
+	 * It may be called while the matrix is still being rendered (a checkpoint of the
+	 * partial image) - concurrent calls are serialized, so they don't write the same file together
 	 */
 	public void writeToImage(){
-		File ouFile = new File(PROJECT_PATH + "/" + _imageName + ".jpg");
+		writeToImage(_pixels);
+	}
+
+	/**
+	 * Takes a copy of the pixel color matrix - the copy can be written by {@link ImageWriter#writeToImage(float[])}
+	 * while the matrix itself is already rendered again (the next frame)
+	 * @return the copy of the matrix
+	 */
+	float[] snapshot() {
+		return _pixels.clone();
+	}
+
+	/**
+	 * Produces the image file from the given pixel color matrix (see {@link ImageWriter#writeToImage()})
+	 * @param pixels the matrix - the matrix of this writer or a snapshot of it
+	 */
+	synchronized void writeToImage(float[] pixels){
+		RenderEvents.ImageEncoding event = new RenderEvents.ImageEncoding();
+		event.begin();
+		long start = System.nanoTime();
+		File ouFile = new File(PROJECT_PATH + "/" + _imageName + "." + _format.getExtension());
 		try {
-			javax.imageio.ImageWriter jpgWriter = ImageIO.getImageWritersByFormatName("jpg").next();
+			switch (_format) {
+				case JPEG: writeJpeg(ouFile, pixels); break;
+				case PNG: ImageIO.write(toImage(pixels), "png", ouFile); break;
+				case PPM: writePpm(ouFile, pixels); break;
+				case PFM: writePfm(ouFile, pixels); break;
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+		_encodeNanos = System.nanoTime() - start;
+		if (event.shouldCommit()) {
+			event.imageName = _imageName;
+			event.format = _format.name();
+			event.pixels = _nX * _nY;
+			event.commit();
+		}
+	}
+
+	/**
+	 * Produces unoptimized jpeg file of the image
+	 * @param ouFile the file to write
+	 * @param pixels the pixel color matrix
+	 * @throws IOException in case of a writing failure
+	 */
+	private void writeJpeg(File ouFile, float[] pixels) throws IOException {
+		javax.imageio.ImageWriter jpgWriter = ImageIO.getImageWritersByFormatName("jpg").next();
+		try (FileImageOutputStream output = new FileImageOutputStream(ouFile)) {
 			ImageWriteParam jpgWriteParam = jpgWriter.getDefaultWriteParam();
 			jpgWriteParam.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
 			jpgWriteParam.setCompressionQuality(1f);
-			jpgWriter.setOutput(new FileImageOutputStream(ouFile));
-			jpgWriter.write(null,new IIOImage(_image, null, null), jpgWriteParam);
+			jpgWriter.setOutput(output);
+			jpgWriter.write(null,new IIOImage(toImage(pixels), null, null), jpgWriteParam);
 			//ImageIO.write(_image, "jpg", ouFile);
-		} catch (IOException e) {
-			e.printStackTrace();
+		} finally {
+			jpgWriter.dispose();
 		}
 	}
 
+	/**
+	 * Produces binary ppm (P6) file of the image - the pixels are quantized straight into
+	 * the file buffer, which is written in one call
+	 * @param ouFile the file to write
+	 * @param pixels the pixel color matrix
+	 * @throws IOException in case of a writing failure
+	 */
+	private void writePpm(File ouFile, float[] pixels) throws IOException {
+		byte[] header = ("P6\n" + _nX + " " + _nY + "\n255\n").getBytes(StandardCharsets.US_ASCII);
+		ByteBuffer buffer = ByteBuffer.allocateDirect(header.length + pixels.length);
+		buffer.put(header);
+		for (float component : pixels)
+			buffer.put((byte) quantize(component));
+		writeBuffer(ouFile, buffer);
+	}
+
+	/**
+	 * Produces pfm file of the image - the float components are copied as they are
+	 * (without the limit of 255) into the file buffer, which is written in one call
+	 * @param ouFile the file to write
+	 * @param pixels the pixel color matrix
+	 * @throws IOException in case of a writing failure
+	 */
+	private void writePfm(File ouFile, float[] pixels) throws IOException {
+		// negative scale marks little endian data
+		byte[] header = ("PF\n" + _nX + " " + _nY + "\n-1.0\n").getBytes(StandardCharsets.US_ASCII);
+		ByteBuffer buffer = ByteBuffer.allocateDirect(header.length + 4 * pixels.length)
+				.order(ByteOrder.LITTLE_ENDIAN);
+		buffer.put(header);
+		// pfm rows go from the bottom of the image to its top
+		FloatBuffer floats = buffer.asFloatBuffer();
+		int rowLength = 3 * _nX;
+		for (int row = _nY - 1; row >= 0; --row)
+			floats.put(pixels, row * rowLength, rowLength);
+		buffer.position(buffer.capacity()); // the float view doesn't move the position of the buffer
+		writeBuffer(ouFile, buffer);
+	}
+
+	/**
+	 * Writes the whole content of a buffer into a file
+	 * @param ouFile the file to write
+	 * @param buffer the content, filled up to its position
+	 * @throws IOException in case of a writing failure
+	 */
+	private static void writeBuffer(File ouFile, ByteBuffer buffer) throws IOException {
+		buffer.flip();
+		try (FileChannel channel = FileChannel.open(ouFile.toPath(), StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			while (buffer.hasRemaining())
+				channel.write(buffer);
+		}
+	}
+
+	/**
+	 * Produces a false color image (heatmap) of a value per pixel - for example the rendering cost
+	 * of every pixel. The image has the resolution and the format of this writer, and the colors go
+	 * from black (0) through blue, cyan, green and yellow to red (the top 1% of the values,
+	 * so a few extreme pixels don't turn the rest of the image dark)
+	 * @param imageName the name of the heatmap file
+	 * @param values the values of the pixels, row by row (value of pixel (x, y) at y * nX + x)
+	 */
+	public void writeHeatmap(String imageName, double[] values) {
+		if (values.length != _nX * _nY)
+			throw new IllegalArgumentException("Heatmap must have a value for every pixel");
+		double[] sorted = values.clone();
+		Arrays.sort(sorted);
+		double top = sorted[(int) (0.99 * (sorted.length - 1))];
+		if (top <= 0) top = sorted[sorted.length - 1];
+
+		ImageWriter heatmap = new ImageWriter(imageName, _imageWidth, _imageHeight, _nX, _nY).setFormat(_format);
+		for (int p = 0, i = 0; p < values.length; ++p, i += 3) {
+			// position on the scale between the stops
+			double v = top <= 0 ? 0 : Math.min(values[p] / top, 1) * (HEAT_STOPS.length - 1);
+			int stop = Math.min((int) v, HEAT_STOPS.length - 2);
+			double f = v - stop;
+			int[] c0 = HEAT_STOPS[stop], c1 = HEAT_STOPS[stop + 1];
+			for (int k = 0; k < 3; ++k)
+				heatmap._pixels[i + k] = (float) (c0[k] + (c1[k] - c0[k]) * f);
+		}
+		heatmap.writeToImage();
+	}
+
 	/**
 	 * The function writePixel writes a color of a specific pixel
 	 * into pixel color matrix
@@ -97,7 +267,73 @@ public class ImageWriter {
 	 * @param color final color of the pixel
 	 */
 	public void writePixel(int xIndex, int yIndex, Color color){
-		_image.setRGB(xIndex, yIndex, color.getRGB());
+		writePixel(xIndex, yIndex, color.getRed(), color.getGreen(), color.getBlue());
+	}
+
+	/**
+	 * The function writePixel writes a color of a specific pixel
+	 * into pixel color matrix, without upper limit to the components
+	 * @param xIndex X axis index of the pixel
+	 * @param yIndex Y axis index of the pixel
+	 * @param r red component of the pixel (255 and above is full red)
+	 * @param g green component of the pixel
+	 * @param b blue component of the pixel
+	 */
+	public void writePixel(int xIndex, int yIndex, double r, double g, double b){
+		int i = index(xIndex, yIndex);
+		_pixels[i] = (float) r;
+		_pixels[i + 1] = (float) g;
+		_pixels[i + 2] = (float) b;
+	}
+
+	/**
+	 * The function addToPixel adds a color to a specific pixel in the pixel
+	 * color matrix - for accumulating several weighted samples of the pixel
+	 * @param xIndex X axis index of the pixel
+	 * @param yIndex Y axis index of the pixel
+	 * @param r red component to add
+	 * @param g green component to add
+	 * @param b blue component to add
+	 */
+	public void addToPixel(int xIndex, int yIndex, double r, double g, double b){
+		int i = index(xIndex, yIndex);
+		_pixels[i] += (float) r;
+		_pixels[i + 1] += (float) g;
+		_pixels[i + 2] += (float) b;
+	}
+
+	/**
+	 * @param xIndex X axis index of the pixel
+	 * @param yIndex Y axis index of the pixel
+	 * @return the index of the red component of the pixel in the matrix
+	 */
+	private int index(int xIndex, int yIndex) {
+		if (xIndex < 0 || xIndex >= _nX || yIndex < 0 || yIndex >= _nY)
+			throw new IndexOutOfBoundsException("Pixel (" + xIndex + "," + yIndex + ") is out of the image");
+		return 3 * (yIndex * _nX + xIndex);
+	}
+
+	/**
+	 * Converts the pixel color matrix into 8 bit per component in one pass -
+	 * any component bigger than 255 is set to 255 (the same way as {@link primitives.Color#getColor()})
+	 * @param pixels the pixel color matrix
+	 * @return the image
+	 */
+	private BufferedImage toImage(float[] pixels) {
+		BufferedImage image = new BufferedImage(_nX, _nY, BufferedImage.TYPE_INT_RGB);
+		int[] rgb = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+		for (int p = 0, i = 0; p < rgb.length; ++p, i += 3)
+			rgb[p] = quantize(pixels[i]) << 16 | quantize(pixels[i + 1]) << 8 | quantize(pixels[i + 2]);
+		return image;
+	}
+
+	/**
+	 * @param component color component without upper limit
+	 * @return the component in the range 0..255
+	 */
+	private static int quantize(float component) {
+		int c = (int) component;
+		return c > 255 ? 255 : c < 0 ? 0 : c;
 	}
 
 }
@@ -0,0 +1,61 @@
+package renderer;
+
+import primitives.Color;
+
+/**
+ * Refinement criterion of the adaptive super sampling - decides whether the colors seen
+ * through the corners of a pixel differ enough to divide it into sub-pixels.
+ * The corners are compared to the first one as soon as they are traced,
+ * so the first mismatch stops the comparison
+ */
+@FunctionalInterface
+public interface RefinementOracle {
+
+    /**
+     * Exact criterion - any difference of the colors (in the precision of {@link Color#equals(Object)})
+     */
+    RefinementOracle EXACT = (first, other) -> !first.equals(other);
+
+    /**
+     * @param first the color seen through the first corner of the pixel
+     * @param other the color seen through another corner
+     * @return true if the pixel must be divided
+     */
+    boolean needsRefinement(Color first, Color other);
+
+    /**
+     * Luminance criterion - the pixel is divided when the brightness of the corners differs
+     * more than the threshold (noise and tiny hue differences are ignored)
+     * @param threshold the maximal allowed difference, in the range 0..255 of the colors
+     * @return the criterion
+     */
+    static RefinementOracle luminance(double threshold) {
+        if (threshold < 0) throw new IllegalArgumentException("Threshold can't be negative");
+        return (first, other) -> Math.abs(luminance(first) - luminance(other)) > threshold;
+    }
+
+    /**
+     * Contrast criterion - the pixel is divided when the relative difference of the corners'
+     * brightness, |L1 - L2| / (L1 + L2), is above the threshold. Unlike the luminance criterion,
+     * the same step is more noticeable in dark areas than in bright ones
+     * @param threshold the maximal allowed contrast, in the range 0..1
+     * @return the criterion
+     */
+    static RefinementOracle contrast(double threshold) {
+        if (threshold < 0) throw new IllegalArgumentException("Threshold can't be negative");
+        return (first, other) -> {
+            double l1 = luminance(first), l2 = luminance(other);
+            double sum = l1 + l2;
+            return sum > 0 && Math.abs(l1 - l2) / sum > threshold;
+        };
+    }
+
+    /**
+     * The perceived brightness of a color (Rec. 709 weights)
+     * @param color the given color
+     * @return the luminance, in the range of the color components
+     */
+    static double luminance(Color color) {
+        return 0.2126 * color.getRed() + 0.7152 * color.getGreen() + 0.0722 * color.getBlue();
+    }
+}
@@ -1,17 +1,27 @@
 package renderer;
 
 import elements.*;
+import geometries.BVHStatistics;
+import geometries.Geometries;
 import scene.Scene;
 import primitives.*;
-import java.util.LinkedList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import static primitives.Util.*;
 import static geometries.Intersectable.GeoPoint;
 
 /**
  * Render class implementation
  */
-public class Render {
+public class Render implements AutoCloseable {
     private ImageWriter writeImage;
     private Scene scene;
     //turn on and off features
@@ -19,12 +29,37 @@ public class Render {
     private boolean superSampling = false;
     // The amount of rays which would be generated to create the soft Shadow effect
     private int softShadowRays = 30;
+    // Probing the light with a few rays first, and firing all the rays only if the probes disagree
+    private boolean adaptiveSoftShadow = false;
+    // The probes - the center of the light's disk and 4 points on its rim
+    private static final double[] PROBE_PATTERN = {0, 0, 1, 0, 0, 1, -1, 0, 0, -1};
+    private final LongAdder softShadowPoints = new LongAdder();   // shading points of the last rendering
+    private final LongAdder softShadowRayCount = new LongAdder(); // shadow rays of the last rendering
     // Max depth of adaptive super sampling recursion
     private int maxSamplingLevel = 2;
+    // Decides whether the corners of a pixel differ enough to divide it
+    private RefinementOracle refinement = RefinementOracle.EXACT;
+    // Max amount of corner samples in a frame of super sampling, 0 for unlimited
+    private long sampleBudget = 0;
+    // Corner samples traced in the current frame - counted only under a budget, the adder spares the
+    // render threads a contended counter
+    private final LongAdder samples = new LongAdder();
 
     private int threads = 1;
     private final int SPARE_THREADS = 2; // Spare threads if trying to use all the cores
     private boolean print = false; // printing progress percentage
+    private boolean forkJoin = false; // work-stealing rendering with a fork/join pool
+    private long checkpointMillis = 0; // time between checkpoints of the image during the rendering, 0 for none
+    private BackgroundImageWriter backgroundWriter = null; // created on the first use
+    private int tileWidth = 16, tileHeight = 16; // size of the pixel blocks the threads take to render
+    private Geometries.BVHMode bvh = null; // building bounding volume hierarchy over the scene's geometries
+    private StatisticsCollector counters = null; // counters of the current rendering, null if statistics are off
+    private RenderStatistics statistics = null; // summary of the last rendering
+    private boolean costMap = false; // recording the rendering cost of every pixel
+    // Cost of every pixel in the last rendering, row by row - a pixel is rendered by a single thread,
+    // so every cell is written by one thread only
+    private long[] pixelNanos = null;
+    private int[] pixelRays = null;
 
     // In order to stop the recursion, we must add some MAX calculation constant values
     private static final int MAX_CALC_COLOR_LEVEL = 10;
@@ -74,90 +109,117 @@ public class Render {
 
     //endregion
 
-    //region Pixel Management
+    //region Tile Management
     /**
-     * Pixel is an internal helper class whose objects are associated with a Render object that
-     * they are generated in scope of. It is used for multithreading in the Renderer and for follow up
-     * its progress.
-     * There is a main follow up object and several secondary objects - one in each thread.
+     * TileScheduler is an internal helper class which hands out the image to the rendering threads
+     * in blocks (tiles) of pixels and follows up the progress.
+     * The next tile is taken with a single atomic increment, so the threads don't wait for each other
+     * on a monitor for every pixel, and neighbour pixels (which usually hit the same shapes) are
+     * rendered by the same thread
      */
-    public class Pixel {
-        private long maxRows = 0;     // Ny
-        private long maxCols = 0;     // Nx
-        private long pixels = 0;      // Total number of pixels: Nx*Ny
-        public volatile int row = 0;   // Last processed row
-        public volatile int col = -1;  // Last processed column
-        private long counter = 0;     // Total number of pixels processed
-        private int percents = 0;     // Percent of pixels processed
-        private long nextCounter = 0;
+    private class TileScheduler {
+        private final int nX, nY;             // image resolution
+        private final int tilesX;             // amount of tiles in a row of tiles
+        private final int tiles;              // total amount of tiles
+        private final AtomicInteger nextTile = new AtomicInteger(0);
+        private final AtomicInteger doneTiles = new AtomicInteger(0);
+        private final AtomicInteger percents = new AtomicInteger(0); // last printed percentage
 
         /**
-         * The constructor for initializing the main follow up Pixel object
-         * @param maxRows the amount of pixel rows
-         * @param maxCols the amount of pixel columns
+         * Constructor
+         * @param nX the amount of pixel columns
+         * @param nY the amount of pixel rows
          */
-        public Pixel(int maxRows, int maxCols) {
-            this.maxRows = maxRows;
-            this.maxCols = maxCols;
-            pixels = maxRows * maxCols;
-            nextCounter = pixels / 100;
-            // reaching to the Render object and using the instance to check if user wants to print progress
-            if (Render.this.print) System.out.println("0%");
+        TileScheduler(int nX, int nY) {
+            this.nX = nX;
+            this.nY = nY;
+            tilesX = (nX + tileWidth - 1) / tileWidth;
+            tiles = tilesX * ((nY + tileHeight - 1) / tileHeight);
+            if (print) System.out.println("0%");
         }
 
         /**
-         *  Default constructor for secondary Pixel objects
+         * @return the index of the next tile to render, -1 if all the tiles are taken
          */
-        public Pixel() {}
+        int nextTile() {
+            int tile = nextTile.getAndIncrement();
+            return tile < tiles ? tile : -1;
+        }
 
         /**
-         * Public function for getting next pixel number into secondary Pixel object.
-         * The function prints also progress percentage in the console window.
-         * @param target target secondary Pixel object to copy the row/column of the next pixel
-         * @return true if the work still in progress, -1 if it's done
+         * Renders all the pixels of a tile
+         * @param tile the index of the tile (as returned by nextTile)
          */
-        public boolean nextPixel(Pixel target) {
-            int percents = nextP(target);
-            if (print && percents > 0)
-                System.out.println(percents + "%");
-            if (percents >= 0) return true;
-            if (print)
-                System.out.println("100%");
-            return false;
+        void renderTile(int tile) {
+            RenderEvents.Tile event = new RenderEvents.Tile();
+            event.begin();
+            int col0 = (tile % tilesX) * tileWidth;
+            int row0 = (tile / tilesX) * tileHeight;
+            int col1 = Math.min(col0 + tileWidth, nX);
+            int row1 = Math.min(row0 + tileHeight, nY);
+            // Neighbour pixels of the tile share their corners - each corner is traced once.
+            // In fork/join mode the sub-pixels of the tile may be sampled by several workers
+            Map<Long, Color> corners = !superSampling ? null
+                    : forkJoin ? new ConcurrentHashMap<>() : new HashMap<>();
+            for (int row = row0; row < row1; ++row)
+                for (int col = col0; col < col1; ++col)
+                    renderPixel(nX, nY, col, row, corners);
+            if (event.shouldCommit()) {
+                event.tile = tile;
+                event.column = col0;
+                event.row = row0;
+                event.width = col1 - col0;
+                event.height = row1 - row0;
+                event.commit();
+            }
+            tileDone();
         }
 
         /**
-         * Internal function for thread-safe manipulating of main follow up Pixel object - this function is
-         * critical section for all the threads, and main Pixel object data is the shared data of this critical
-         * section.
-         * The function provides next pixel number each call.
-         * @param target target secondary Pixel object to copy the row/column of the next pixel
-         * @return the progress percentage for follow up: if it is 0 - nothing to print, if it is -1 - the task is
-         * finished, any other value - the progress percentage (only when it changes)
+         * Follows up the progress after a tile is finished - prints the progress percentage
+         * (only when it changes) if the user asked for it
          */
-        private synchronized int nextP(Pixel target) {
-            //increase progress for each access
-            ++col; ++counter;
-            if (col < maxCols) {
-                target.row = this.row; target.col = this.col;
-                if (print && counter == nextCounter) {
-                    ++percents;nextCounter = pixels * (percents + 1) / 100; return percents;
-                }
-                return 0;
-            }
-            ++row;
-            if (row < maxRows) {
-                col = 0;
-                if (print && counter == nextCounter) {
-                    ++percents;
-                    nextCounter = pixels * (percents + 1) / 100; return percents;
-                }
-                writeToImage();
-                return 0;
-            }
-            return -1;
+        private void tileDone() {
+            int done = doneTiles.incrementAndGet();
+            if (!print) return;
+            int current = (int) (100L * done / tiles);
+            int last = percents.get();
+            // only the thread which moved the percentage prints it
+            if (current > last && current < 100 && percents.compareAndSet(last, current))
+                System.out.println(current + "%");
         }
+    }
 
+    /**
+     * Fork/join rendering of a range of tiles - the range is split in halves down to single tiles,
+     * so idle workers steal the tiles (and the sub-pixels of their super sampling) of busy ones
+     */
+    @SuppressWarnings("serial") // captures the enclosing instance, never serialized
+    private class TilesTask extends RecursiveAction {
+        private final TileScheduler scheduler;
+        private final int from, to; // range of tile indices [from, to)
+
+        /**
+         * Constructor
+         * @param scheduler the tiles of the image
+         * @param from first tile of the range
+         * @param to the tile after the last one in the range
+         */
+        TilesTask(TileScheduler scheduler, int from, int to) {
+            this.scheduler = scheduler;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                if (to > from) scheduler.renderTile(from);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new TilesTask(scheduler, from, middle), new TilesTask(scheduler, middle, to));
+        }
     }
     //endregion
 
@@ -167,7 +229,8 @@ public class Render {
 
     /**
      * Set multithreading
-     * if the parameter is 0 - number of coress less SPARE (2) is taken
+     * if the parameter is 0 - number of coress less SPARE (2) is taken.
+     * In fork/join mode, it's the parallelism of the pool
      * @param threads number of threads
      * @return the Render object itself
      */
@@ -182,12 +245,86 @@ public class Render {
         return this;
     }
 
+    /**
+     * Set the size of the pixel blocks (tiles) the rendering threads take each time
+     * @param width the amount of pixel columns in a tile
+     * @param height the amount of pixel rows in a tile
+     * @return the Render object itself
+     */
+    public Render setTileSize(int width, int height) {
+        if (width <= 0 || height <= 0) throw new IllegalArgumentException("Tile size must be positive");
+        tileWidth = width;
+        tileHeight = height;
+        return this;
+    }
+
+    /**
+     * Set the fork/join rendering mode on - tiles and the sub-pixels of the adaptive super sampling
+     * become tasks of a work-stealing pool, whose parallelism is set by {@link Render#setMultithreading(int)}
+     * @return the Render object itself
+     */
+    public Render setForkJoin() { forkJoin = true; return this; }
+
+    /**
+     * Set writing checkpoints of the partial image during the rendering - the image is written
+     * on a background thread, at most once in the given interval
+     * @param seconds the time between checkpoints, 0 for none
+     * @return the Render object itself
+     */
+    public Render setCheckpointInterval(double seconds) {
+        if (seconds < 0) throw new IllegalArgumentException("Checkpoint interval must be 0 or higher");
+        checkpointMillis = (long) (seconds * 1000);
+        return this;
+    }
+
     /**
      * Set debug printing on
      * @return the Render object itself
      */
     public Render setDebugPrint() { print = true; return this; }
 
+    /**
+     * Set collecting statistics on - the traced rays by type, the intersection tests by type of shape,
+     * the super sampling subdivisions and the rendering time. Available after the rendering
+     * from {@link Render#getStatistics()}
+     * @return the Render object itself
+     */
+    public Render setStatistics() {
+        if (counters == null)
+            counters = new StatisticsCollector();
+        return this;
+    }
+
+    /**
+     * @return the statistics of the last rendering, null if the statistics are off (see {@link Render#setStatistics()})
+     */
+    public RenderStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Set recording the cost of every pixel on - the time it took to render it and the amount of
+     * rays traced for it. The costs are available after the rendering as heatmaps
+     * (see {@link Render#writeTimeHeatmap(String)}) or as raw buffers
+     * @return the Render object itself
+     */
+    public Render setCostMap() { costMap = true; return this; }
+
+    /**
+     * Set the bounding volume hierarchy on - it's built over the scene's geometries
+     * once, before the rendering starts
+     * @return the Render object itself
+     */
+    public Render setBVH() { return setBVH(Geometries.BVHMode.MEDIAN); }
+
+    /**
+     * Set the bounding volume hierarchy on - it's built over the scene's geometries
+     * once, before the rendering starts
+     * @param mode the construction strategy (fast build or high quality)
+     * @return the Render object itself
+     */
+    public Render setBVH(Geometries.BVHMode mode) { bvh = mode; return this; }
+
     public Render setSoftShadowRays(int softShadows) {
         if(softShadows > 0) {
             this.softShadow = true;
@@ -197,6 +334,36 @@ public class Render {
         return this;
     }
 
+    /**
+     * Set the criterion of the adaptive super sampling for dividing a pixel
+     * @param refinement the criterion (default - {@link RefinementOracle#EXACT})
+     * @return the Render object itself
+     */
+    public Render setRefinementOracle(RefinementOracle refinement) {
+        if (refinement == null) throw new IllegalArgumentException("Refinement criterion can't be null");
+        this.refinement = refinement;
+        return this;
+    }
+
+    /**
+     * Set the maximal amount of corner samples the adaptive super sampling traces in a frame.
+     * Once the budget is spent, pixels are no longer divided (they take the average of their corners)
+     * @param budget the amount of samples, 0 for unlimited
+     * @return the Render object itself
+     */
+    public Render setSampleBudget(long budget) {
+        if (budget < 0) throw new IllegalArgumentException("Sample budget must be 0 or higher");
+        sampleBudget = budget;
+        return this;
+    }
+
+    /**
+     * Set the adaptive soft shadows on - each light is probed with a few rays (its center and rim),
+     * and the whole beam of soft shadow rays is fired only if the probes disagree (in the penumbra)
+     * @return the Render object itself
+     */
+    public Render setAdaptiveSoftShadows() { adaptiveSoftShadow = true; return this; }
+
     public Render setSuperSamplings(int superSamplings) {
         if(superSamplings > 0) {
             this.superSampling = true;
@@ -216,6 +383,79 @@ public class Render {
         writeImage.writeToImage();
     }
 
+    /**
+     * @return the rendering time of every pixel in the last rendering in nanoseconds, row by row
+     * (pixel (x, y) at y * nX + x), null if the cost map is off (see {@link Render#setCostMap()})
+     */
+    public long[] getPixelNanos() {
+        return pixelNanos;
+    }
+
+    /**
+     * @return the amount of rays traced for every pixel in the last rendering, row by row
+     * (pixel (x, y) at y * nX + x), null if the cost map is off (see {@link Render#setCostMap()})
+     */
+    public int[] getPixelRays() {
+        return pixelRays;
+    }
+
+    /**
+     * Writes the rendering time of every pixel as a heatmap image (see {@link ImageWriter#writeHeatmap(String, double[])})
+     * @param imageName the name of the heatmap file
+     */
+    public void writeTimeHeatmap(String imageName) {
+        if (pixelNanos == null) throw new IllegalStateException("Cost map wasn't recorded");
+        double[] values = new double[pixelNanos.length];
+        for (int p = 0; p < values.length; ++p)
+            values[p] = pixelNanos[p];
+        writeImage.writeHeatmap(imageName, values);
+    }
+
+    /**
+     * Writes the amount of rays traced for every pixel as a heatmap image
+     * (see {@link ImageWriter#writeHeatmap(String, double[])})
+     * @param imageName the name of the heatmap file
+     */
+    public void writeRaysHeatmap(String imageName) {
+        if (pixelRays == null) throw new IllegalStateException("Cost map wasn't recorded");
+        double[] values = new double[pixelRays.length];
+        for (int p = 0; p < values.length; ++p)
+            values[p] = pixelRays[p];
+        writeImage.writeHeatmap(imageName, values);
+    }
+
+    /**
+     * uses the ImageWriter instance to write to image on a background thread.
+     * The pixels are copied first, so the next frame can be rendered right away.
+     * The writing thread doesn't keep the program alive - call {@link Render#close()} before exiting
+     * @return the pending writing - for waiting until the image is written
+     */
+    public Future<?> writeToImageAsync() {
+        return backgroundWriter().write();
+    }
+
+    /**
+     * @return the background writer of the image
+     */
+    private synchronized BackgroundImageWriter backgroundWriter() {
+        if (backgroundWriter == null)
+            backgroundWriter = new BackgroundImageWriter(writeImage);
+        return backgroundWriter;
+    }
+
+    /**
+     * Releases the thread of the background writing (see {@link Render#writeToImageAsync()} and
+     * {@link Render#setCheckpointInterval(double)}) - it waits until the pending writings are completed.
+     * The render can still be used afterwards, a new writing thread is created on demand
+     */
+    @Override
+    public synchronized void close() {
+        if (backgroundWriter != null) {
+            backgroundWriter.close();
+            backgroundWriter = null;
+        }
+    }
+
     /**
      * takes the camera and the ImageWriter
      * and creates color to the view plane based on the data from the intersections
@@ -225,40 +465,118 @@ public class Render {
         // Initialization [camera & viewPlane properties]
         int nX = writeImage.getNx();
         int nY = writeImage.getNy();
-        Color background = scene.getBackground();
-        Camera camera = scene.getCamera();
-        double dist = scene.getDistance();
-        double width = writeImage.getWidth();
-        double height = writeImage.getHeight();
+        if (bvh != null) {
+            RenderEvents.ScenePreparation event = new RenderEvents.ScenePreparation();
+            event.begin();
+            BVHStatistics bvhStats = scene.getGeometries().buildBVH(bvh);
+            event.bvhMode = bvh.name();
+            event.shapes = bvhStats.getShapes();
+            event.nodes = bvhStats.getNodes();
+            event.commit();
+            if (print) System.out.println(bvhStats);
+        }
+
+        samples.reset();
+        softShadowPoints.reset();
+        softShadowRayCount.reset();
+        if (counters != null) {
+            counters = new StatisticsCollector(); // every rendering counts from zero
+            scene.getGeometries().setIntersectionCounter(counters);
+        }
+        if (costMap) {
+            pixelNanos = new long[nX * nY];
+            pixelRays = new int[nX * nY];
+        }
+        final TileScheduler scheduler = new TileScheduler(nX, nY);
+        if (checkpointMillis > 0)
+            backgroundWriter().startCheckpoints(checkpointMillis);
+        long start = System.nanoTime();
+        try {
+            if (forkJoin)
+                renderForkJoin(scheduler);
+            else
+                renderThreads(scheduler);
+        } finally {
+            if (checkpointMillis > 0)
+                backgroundWriter().stopCheckpoints();
+            if (counters != null)
+                scene.getGeometries().setIntersectionCounter(null);
+        }
+        if (counters != null)
+            statistics = counters.snapshot(System.nanoTime() - start);
+        if (print) System.out.println("100%"); // Print 100%
+        if (print && softShadow) System.out.println("Shadow rays per point: " + getAverageShadowRays());
+        if (print && statistics != null) System.out.println(statistics);
+    }
 
+    /**
+     * Renders all the tiles with a pool of threads - each thread takes the next free tile
+     * until all the tiles are taken
+     * @param scheduler the tiles of the image
+     */
+    private void renderThreads(TileScheduler scheduler) {
         // Constructing the threads
-        // Main pixel management object, In case he is the nextP - It's mean rendering completed
-        // this pixel holds the values between changes in the threads scenario.
-        // In case threads starts to work, he checks it and gets the right values in order to
-        // proceed the render job.
-        final Pixel thePixel = new Pixel(nY, nX);
         Thread[] threadPool = new Thread[threads];
         for (int i = threads - 1; i >= 0; --i) { // create all threads
             threadPool[i] = new Thread(() -> {
-                // Takes one pixel to work on
-                Pixel pixel = new Pixel(); // Auxiliary thread’s pixel object
-                while (thePixel.nextPixel(pixel)) {
-                    Color paint;
-                    if (superSampling) {
-                        paint = adaptiveSuperSampling(nX, nY, pixel.col, pixel.row, maxSamplingLevel);
-                    } else {
-                        Ray ray = camera.constructRayThroughPixel(nX, nY, pixel.col, pixel.row, dist, width, height);
-                        GeoPoint cp = findClosestIntersection(ray);
-                        paint = cp==null? background : calcColor(cp, ray);
-                    }
-                    writeImage.writePixel(pixel.col, pixel.row, paint.getColor());
-                }});
+                for (int tile = scheduler.nextTile(); tile >= 0; tile = scheduler.nextTile())
+                    scheduler.renderTile(tile);
+            });
         }
         for (Thread thread : threadPool) thread.start(); // Start all the threads
-        // Wait for all threads to finish [just thread that finished his job could go on into line 228]
+        // Wait for all threads to finish
         for (Thread thread : threadPool) try { thread.join(); } catch (Exception ignored) {}
-        if (print) System.out.println("100%"); // Print 100%
+    }
+
+    /**
+     * Renders all the tiles with a work-stealing fork/join pool
+     * @param scheduler the tiles of the image
+     */
+    private void renderForkJoin(TileScheduler scheduler) {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            pool.invoke(new TilesTask(scheduler, 0, scheduler.tiles));
+        } finally {
+            pool.shutdown();
+        }
+    }
 
+    /**
+     * Calculates the color of a single pixel and writes it into the image
+     * @param nX the amount of pixel columns
+     * @param nY the amount of pixel rows
+     * @param col the column of the pixel
+     * @param row the row of the pixel
+     * @param corners cache of the colors of the traced corners (for the super sampling)
+     */
+    private void renderPixel(int nX, int nY, int col, int row, Map<Long, Color> corners) {
+        long start = costMap ? System.nanoTime() : 0;
+        ShadingContext context = costMap ? shadingContext.get() : null;
+        long raysBefore = costMap ? context.rays : 0;
+        long forkedRays = -1, forkedNanos = -1;
+        Color paint;
+        if (superSampling && forkJoin) {
+            SuperSamplingTask task = new SuperSamplingTask(nX, nY, col, row, maxSamplingLevel, corners);
+            paint = task.invoke();
+            // the sub-pixels may be traced by other threads, and while this thread joins them it may run
+            // stolen tasks of other pixels - the task sums the rays and the time of its own sub-pixels
+            forkedRays = task.rays;
+            forkedNanos = task.nanos;
+        } else if (superSampling) {
+            paint = adaptiveSuperSampling(nX, nY, col, row, maxSamplingLevel, corners);
+        } else {
+            Ray ray = scene.getCamera().constructRayThroughPixel(nX, nY, col, row, scene.getDistance(),
+                    writeImage.getWidth(), writeImage.getHeight());
+            countRay(RenderStatistics.RayType.PRIMARY);
+            GeoPoint cp = findClosestIntersection(ray);
+            paint = cp == null ? scene.getBackground() : calcColor(cp, ray);
+        }
+        writeImage.writePixel(col, row, paint.getRed(), paint.getGreen(), paint.getBlue());
+        if (costMap) {
+            int p = row * nX + col;
+            pixelNanos[p] = forkedNanos >= 0 ? forkedNanos : System.nanoTime() - start;
+            pixelRays[p] = (int) (forkedRays >= 0 ? forkedRays : context.rays - raysBefore);
+        }
     }
 
     /**
@@ -283,26 +601,24 @@ public class Render {
     //region calcColor
 
     /**
-     * checks for closest intersections and calculates average color
-     * [closest Intersections for ray - get color
-     * No Intersection - background color]
-     * @param rays Ray beam from the camera
-     * @return average color
+     * Per-thread scratch objects of the shading calculation - one color accumulator for each
+     * recursion level and a scratch vector, so shading a point doesn't create temporary colors and vectors
      */
-    private Color calcColor(List<Ray> rays){
-        Color background = scene.getBackground();
-        Color avg = new Color(0,0,0);
-
-        for (Ray ray : rays) {
-            GeoPoint closestPoint = findClosestIntersection(ray);
-            if (closestPoint == null)
-                avg = avg.add(background);
-            else
-                avg = avg.add(calcColor(closestPoint, ray));
+    private static class ShadingContext {
+        // levels[i] holds the result of calcColor in recursion level i
+        final MutableColor[] levels = new MutableColor[MAX_CALC_COLOR_LEVEL + 1];
+        final MutableColor lightIntensity = new MutableColor();
+        final Vec3 vector = new Vec3();
+        long rays = 0; // amount of rays traced by the thread (for the cost map)
+
+        ShadingContext() {
+            for (int i = 0; i < levels.length; ++i)
+                levels[i] = new MutableColor();
         }
-        return avg.reduce(rays.size());
     }
 
+    private final ThreadLocal<ShadingContext> shadingContext = ThreadLocal.withInitial(ShadingContext::new);
+
     /**
      * uses the main calcColor method to determine the specific color in the scene
      * @param geoP The current 3D point it about to color (or not)
@@ -312,28 +628,32 @@ public class Render {
     private Color calcColor(GeoPoint geoP, Ray inRay){
         if (geoP == null)
             return scene.getBackground();
-        Color color = calcColor(geoP, inRay, MAX_CALC_COLOR_LEVEL, 1.0);
-        color = color.add(scene.getAmbientLight().getIntensity());
-        return color;
+        ShadingContext context = shadingContext.get();
+        calcColor(geoP, inRay, MAX_CALC_COLOR_LEVEL, 1.0, context);
+        return context.levels[MAX_CALC_COLOR_LEVEL].add(scene.getAmbientLight().getIntensity()).toColor();
     }
 
 
     /**
-     * Calculate color based on current point - the main method
+     * Calculate color based on current point - the main method.
+     * The result is accumulated into the accumulator of the given level in the context
      * @param p     the current 3D point which it being colored
      * @param inRay the ray from the view plane
      * @param level The remaining depth of the recursion
      * @param k     Current attenuation factor
-     * @return the Intensity from scene
+     * @param context the scratch objects of the current thread
      */
-    private Color calcColor(GeoPoint p, Ray inRay, int level, double k) {
+    private void calcColor(GeoPoint p, Ray inRay, int level, double k, ShadingContext context) {
+        MutableColor color = context.levels[level];
 
         //Stop condition
-        if (level == 0 || k < MIN_CALC_COLOR_K)
-            return Color.BLACK;
+        if (level == 0 || k < MIN_CALC_COLOR_K) {
+            color.setBlack();
+            return;
+        }
 
         //region Initialization
-        Color color = p.geometry.getEmission();
+        color.set(p.geometry.getEmission());
         Vector v = inRay.getDirection();
         Vector n = p.geometry.getNormal(p.point);
         int nSh = p.geometry.getMaterial().getNShininess();
@@ -355,9 +675,9 @@ public class Render {
 
                     // Now, the *transparency* would create the shadow's effect
                     if (ktr * k > MIN_CALC_COLOR_K) {
-                        Color lightInt = (light.getIntensity(p.point)).scale(ktr);
-                        color = color.add(calcDiffusive(kd, l, n, lightInt),
-                                calcSpecular(ks, l, n, v, nSh, lightInt));
+                        MutableColor lightInt = context.lightIntensity.set(light.getIntensity(p.point)).scale(ktr);
+                        color.addScaled(lightInt, calcDiffusive(kd, l, n))
+                             .addScaled(lightInt, calcSpecular(ks, l, n, v, nSh, context.vector));
                     }
                 }
             }
@@ -365,17 +685,21 @@ public class Render {
         //endregion
 
         //region Handle Deflected Rays
+        // Both deflected rays use the accumulator of the next level - the reflected
+        // color is already added into this level when the refracted one is calculated
+        MutableColor deflected = context.levels[level - 1];
         double kr = p.geometry.getMaterial().getKR();
         double kkr = k * kr;
         if (kkr > MIN_CALC_COLOR_K) {
-            Ray reflectedRay = constructReflectedRay(n, p.point, inRay);
+            Ray reflectedRay = constructReflectedRay(n, p.point, inRay, context.vector);
+            countRay(RenderStatistics.RayType.REFLECTED);
             GeoPoint reflectedPoint = findClosestIntersection(reflectedRay);
 
              // In order to avoid working with null point
             if (reflectedPoint != null) {
                 // Recursive call for a reflected ray
-                Color reflectedLight = calcColor(reflectedPoint, reflectedRay, level - 1, kkr).scale(kr);
-                color = color.add(reflectedLight);
+                calcColor(reflectedPoint, reflectedRay, level - 1, kkr, context);
+                color.addScaled(deflected, kr);
             }
         }
 
@@ -383,18 +707,17 @@ public class Render {
         double kkt = k * kt;
         if (kkt > MIN_CALC_COLOR_K) {
             Ray refractedRay = constructRefractedRay(n, p.point, inRay);
+            countRay(RenderStatistics.RayType.REFRACTED);
             GeoPoint refractedPoint = findClosestIntersection(refractedRay);
 
             // In order to avoid working with null point
             if (refractedPoint != null) {
                 // Recursive call for a refracted ray
-                Color refractedLight = calcColor(refractedPoint, refractedRay, level - 1, kkt).scale(kt);
-                color = color.add(refractedLight);
+                calcColor(refractedPoint, refractedRay, level - 1, kkt, context);
+                color.addScaled(deflected, kt);
             }
         }
         //endregion
-
-        return color;
     }
     //endregion
 
@@ -421,19 +744,21 @@ public class Render {
      * @param normal        the normal to the current surface
      * @param intersectionP the intersection point of V ray
      * @param v             the original ray
+     * @param scratch       scratch vector for the calculation
      * @return reflected ray from the surface
      */
-    private Ray constructReflectedRay(Vector normal, Point3D intersectionP, Ray v) {
+    private Ray constructReflectedRay(Vector normal, Point3D intersectionP, Ray v, Vec3 scratch) {
         // Calculating the formula r = v - 2(v*n)*n;
+        Vector direction = v.getDirection();
 
         //2*v*n =
-        double dotP = alignZero(2 * v.getDirection().dotProduct(normal));
+        double dotP = alignZero(2 * direction.dotProduct(normal));
 
         // Avoiding scaling by 0
         if (dotP == 0)
             return null;
 
-        Vector reflectedVec = v.getDirection().subtract(normal.scale(dotP));
+        Vector reflectedVec = scratch.set(direction).subtractScaled(normal, dotP).toVector();
         return new Ray(intersectionP, reflectedVec, normal);
     }
     //endregion
@@ -441,31 +766,33 @@ public class Render {
     //region Phong Reflectance Model
 
     /**
-     * Calculating the specular intensity from the surface
+     * Calculating the specular factor of the surface
      * @param ks Specular factor
      * @param l Vector from light
      * @param n Normal to the surface
      * @param v Vector from the camera
      * @param nSh Shininess factor
-     * @param lightInt Intensity of the surface
-     * @return The specular intensity
+     * @param r scratch vector for the reflected light direction
+     * @return The factor to scale the light intensity by
      */
-    private Color calcSpecular(double ks, Vector l, Vector n, Vector v, int nSh, Color lightInt) {
-        Vector r =  isZero(l.dotProduct(n))? l : l.subtract(n.scale(2 * l.dotProduct(n))).normalize();
-        double negvr = Util.alignZero(-v.dotProduct(r));
-        return lightInt.scale(ks * Math.pow(Math.max(0, negvr), nSh));
+    private double calcSpecular(double ks, Vector l, Vector n, Vector v, int nSh, Vec3 r) {
+        double ln = l.dotProduct(n);
+        r.set(l);
+        if (!isZero(ln))
+            r.subtractScaled(n, 2 * ln).normalize();
+        double negvr = Util.alignZero(-r.dotProduct(v));
+        return ks * Math.pow(Math.max(0, negvr), nSh);
     }
 
     /**
-     * Calculating the diffusive intensity from the surface
+     * Calculating the diffusive factor of the surface
      * @param kd Diffusive factor
      * @param l Vector from light
      * @param n Normal to the surface
-     * @param lightIntensity Intensity of the surface
-     * @return The diffusive intensity
+     * @return The factor to scale the light intensity by
      */
-    private Color calcDiffusive(double kd, Vector l, Vector n, Color lightIntensity) {
-        return lightIntensity.scale(kd * Math.abs(l.dotProduct(n)));
+    private double calcDiffusive(double kd, Vector l, Vector n) {
+        return kd * Math.abs(l.dotProduct(n));
     }
     //endregion
 
@@ -486,7 +813,10 @@ public class Render {
         Vector lightDirection = l.scale(-1.0);
         Ray shadowRay = new Ray(point, lightDirection, n);
 
-        return softShadow? getSoftKTR(shadowRay, ls) : getKTR(shadowRay, ls.getDistance(point));
+        if (softShadow)
+            return getSoftKTR(shadowRay, ls);
+        countRay(RenderStatistics.RayType.SHADOW);
+        return getKTR(shadowRay, ls.getDistance(point));
     }
 
     /**
@@ -522,20 +852,10 @@ public class Render {
      * @return ray's start ktr
      */
     private double getKTR(Ray ray, double dist) {
-        // Activating the findIntersections() method on the current shape
-        List<GeoPoint> intersections = scene.getGeometries().findIntersections(ray);
-
-        // In case there is no intersections - the light is getting there and there is need to color that place
-        // else - make that place shaded
-        if (intersections == null)
-            return 1;
-        intersections.removeIf(gp -> Util.alignZero(gp.point.distance(ray.getStart()) - dist) > 0);
-        double ktr = 1;
-        for (GeoPoint gp : intersections)
-            ktr *= gp.geometry.getMaterial().getKT();
-            if (ktr < MIN_CALC_COLOR_K)
-                return 0;
-        return ktr;
+        // Passing the light through the shapes between the point and the light source.
+        // The query stops at the first opaque shape, or when the factor gets under the minimum
+        // (in that case - make that place shaded)
+        return scene.getGeometries().findTransparency(ray, dist, 1, MIN_CALC_COLOR_K);
     }
     //endregion
 
@@ -552,50 +872,99 @@ public class Render {
         Point3D start = mainRay.getStart();
         double lightDist = ls.getDistance(start);
         //In case ls is directional light - use the normal KTR method (it has no radios)
-        if (!(ls instanceof FiniteLight))
+        if (!(ls instanceof FiniteLight)) {
+            countRay(RenderStatistics.RayType.SHADOW);
             return getKTR(mainRay, lightDist);
+        }
 
         FiniteLight fls = (FiniteLight)ls;
-        List<Vector> dirs = constructSoftVectors(mainRay, lightDist, fls.getRadius());
-        double sum = 0;
-        //Iterating over all the rays in the beam and checking the rate of intersect
-        for (Vector dir : dirs) {
-            lightDist = dir.length();
+        double rad = fls.getRadius();
+
+        // Orthonormal basis (n, u, w) where n points to the light - the disk of the light is spanned by u & w.
+        // Branchless construction (Duff et al. 2017) - no square roots and no trigonometry
+        Vector n = mainRay.getDirection();
+        double nx = n.getXValue(), ny = n.getYValue(), nz = n.getZValue();
+        double sign = Math.copySign(1.0, nz);
+        double a = -1 / (sign + nz);
+        double b = nx * ny * a;
+        double[] basis = {nx, ny, nz,
+                          1 + sign * nx * nx * a, sign * b, -sign * nx,
+                          b, sign + ny * ny * a, -ny};
+
+        softShadowPoints.increment();
+        RenderEvents.SoftShadow event = new RenderEvents.SoftShadow();
+        event.begin();
+        if (adaptiveSoftShadow) {
+            // Fully lit or fully shadowed points - the probes agree, and there is no need for the whole pattern
+            double probes = sampleLightDisk(start, basis, lightDist, rad, PROBE_PATTERN, true);
+            if (probes >= 0) {
+                commitSoftShadow(event, PROBE_PATTERN.length / 2, true);
+                return probes;
+            }
+        }
+        double[] pattern = fls.getDiskPattern(softShadowRays);
+        double ktr = sampleLightDisk(start, basis, lightDist, rad, pattern, false);
+        commitSoftShadow(event, pattern.length / 2, false);
+        return ktr;
+    }
+
+    /**
+     * Commits a soft shadow event if the recording wants it
+     * @param event the event, begun before the shadow rays were fired
+     * @param samples amount of sample points in the estimate
+     * @param probed true if the estimate is of the probes only
+     */
+    private static void commitSoftShadow(RenderEvents.SoftShadow event, int samples, boolean probed) {
+        if (event.shouldCommit()) {
+            event.samples = samples;
+            event.probed = probed;
+            event.commit();
+        }
+    }
+
+    /**
+     * Fires shadow rays from a point towards sample points on the disk of a light
+     * @param start the point (already moved away from its surface)
+     * @param basis orthonormal basis of the disk as {n, u, w} - n points to the center of the disk
+     * @param lightDist the distance to the center of the disk
+     * @param rad the radius of the disk
+     * @param pattern the sample points in the unit disk as {x0, y0, x1, y1, ...}
+     * @param probing true to stop once two samples disagree
+     * @return the average KTR factor of the samples, -1 if probing and the samples disagree
+     */
+    private double sampleLightDisk(Point3D start, double[] basis, double lightDist, double rad,
+                                   double[] pattern, boolean probing) {
+        double sum = 0, first = 0;
+        //Iterating over all the points of the pattern and checking the rate of intersect
+        for (int k = 0; k < pattern.length; k += 2) {
+            // vector from the point to the sample on the light's disk: n*dist + (u*x + w*y)*radius
+            double du = pattern[k] * rad, dw = pattern[k + 1] * rad;
+            Vector dir = new Vector(basis[0] * lightDist + basis[3] * du + basis[6] * dw,
+                                    basis[1] * lightDist + basis[4] * du + basis[7] * dw,
+                                    basis[2] * lightDist + basis[5] * du + basis[8] * dw);
+            double sampleDist = dir.length();
             Ray softRay = new Ray(start, dir);
-            sum += getKTR(softRay, lightDist);
+            double ktr = getKTR(softRay, sampleDist);
+            softShadowRayCount.increment();
+            countRay(RenderStatistics.RayType.SOFT_SHADOW);
+            if (probing) {
+                if (k == 0)
+                    first = ktr;
+                else if (Math.abs(ktr - first) >= MIN_CALC_COLOR_K)
+                    return -1;
+            }
+            sum += ktr;
         }
-        return sum/ softShadowRays;
+        return sum / (pattern.length / 2);
     }
 
     /**
-     * Creates spiral-shape from rays toward the light source
-     * @param mainRay backbone of the entire beam (the center of the spiral)
-     * @param dist distance between the start-position of the ray (intersection place) and the light
-     * @return list of all the rays in the beam
+     * @return the average amount of shadow rays fired towards a light from a shaded point, in the last
+     * rendering with soft shadows (only points which are lit by lights with an area are counted)
      */
-    private List<Vector> constructSoftVectors(Ray mainRay, double dist, double rad) {
-        // implementing Archimedean spiral.
-        // in polar coordinate system, the function is r = a + b*theta
-        // in our case, a=0 so it starts in the center,
-        // and b will make r to be the radius of the circle at max rotation.
-        // in our case, the spiral shape has 4 rotation (each has 2 pi)
-        double maxRotation = 8*Math.PI;
-        double b = rad/maxRotation;
-        List<Vector> ret = new LinkedList<>();
-        Vector n = mainRay.getDirection();
-        Point3D center = mainRay.getStart().add(mainRay.getDirection().scale(dist));
-        //using the method from Vector class to calculate orthogonal vector to n
-        Vector orth = n.getOrthogonal();
-        // creates the rays, every iteration the rotation is increasing by (maxRotation/SOFT_SHADOW_RAYS)
-        for (int i = 0; i < softShadowRays; i++) {
-            double theta = i*(maxRotation/ softShadowRays);
-            Vector rot = orth.rotate(n,theta);
-            double r = alignZero(b*theta); // size factor to the center point
-            Point3D end = r==0? center : center.add(rot.scale(r));
-            Vector dir = end.subtract(mainRay.getStart()); // vector to the current end-point ray
-            ret.add(dir);
-        }
-        return ret;
+    public double getAverageShadowRays() {
+        long points = softShadowPoints.sum();
+        return points == 0 ? 0 : (double) softShadowRayCount.sum() / points;
     }
     //endregion
 
@@ -605,29 +974,24 @@ public class Render {
      * Improved and efficient method to the SuperSampling feature
      * Instead of creating equal distribution of rays next to the geometry casing
      * This method checks with recursion if the current place has uniform color value:
-     * - If it does happens - return this color
+     * - If it does happens - return the average of the corners
      * - Else, start recursion at the center of the pixel and divide it into four parts and check again!
      * @param nX View plane width
      * @param nY View plane height
      * @param j The current pixel we working on (the X axes)
      * @param i The current pixel we working on (the Y axes)
      * @param level The remaining depth of the recursion
+     * @param corners cache of the colors of the traced corners
      * @return the accurate color to this specific pixel + SuperSampling *efficient* implementation
      */
-    private Color adaptiveSuperSampling(int nX, int nY, int j, int i, int level) {
-        //Initializations
-        Camera camera = scene.getCamera();
-        double distance = scene.getDistance();
-        double width = writeImage.getWidth();
-        double height = writeImage.getHeight();
-        //get the rays from the camera which goes through this specific pixel
-        List<Ray> edges = camera.constructRaysThroughPixelEdges(nX, nY, j, i, distance, width, height);
-        if (level <= 0) // Stopping condition - In order to limit the recursion
-            return calcColor(edges);
-        Color firstColor = isColorSame(edges);
-        if (firstColor != null) // In case they all equal - return one of them
-            return firstColor;
-        Color ret = new Color(0, 0, 0);
+    private Color adaptiveSuperSampling(int nX, int nY, int j, int i, int level, Map<Long, Color> corners) {
+        Color color = sampleCorners(nX, nY, j, i, level, corners);
+        if (color != null)
+            return color;
+        if (counters != null) counters.countSubdivision();
+        RenderEvents.SuperSampling event = new RenderEvents.SuperSampling();
+        event.begin();
+        MutableColor ret = new MutableColor();
         //Because of we're increasing the resolution of the current pixel
         //(in order to apply the recursion on one of the 4 sub-pixel)
         //There is need to increase the pixel amount (both in width/height) by 2
@@ -639,10 +1003,133 @@ public class Render {
         for (int interJ = startJ; interJ < startJ + 2; interJ++)
             for (int interI = startI; interI < startI + 2; interI++)
                 //applying the recursion on 4 sub-pixels
-                ret = ret.add(adaptiveSuperSampling(newNX, newNY, interJ, interI, level-1));
+                ret.add(adaptiveSuperSampling(newNX, newNY, interJ, interI, level-1, corners));
+        if (event.shouldCommit()) {
+            event.depth = maxSamplingLevel - level;
+            event.commit();
+        }
         //Eventually, when the recursion stops (in every sub-pixel) it goes here
         //to get the average of the 4 rays color
-        return ret.reduce(4);
+        return ret.reduce(4).toColor();
+    }
+
+    /**
+     * The non-recursive part of the adaptive super sampling - gets the colors of the corners of the (sub-)pixel
+     * @param nX View plane width
+     * @param nY View plane height
+     * @param j The current pixel we working on (the X axes)
+     * @param i The current pixel we working on (the Y axes)
+     * @param level The remaining depth of the recursion
+     * @param corners cache of the colors of the traced corners
+     * @return the color of the pixel if there is no need to divide it, null otherwise
+     */
+    private Color sampleCorners(int nX, int nY, int j, int i, int level, Map<Long, Color> corners) {
+        // The corners are taken on the lattice of the deepest level, where the corner (j, i)
+        // of this level is (j * 2^level, i * 2^level) - so a corner shared by neighbour pixels,
+        // or by a pixel and its sub-pixels, has a single key (and gives exactly the same ray)
+        int latticeNX = nX << level;
+        int latticeNY = nY << level;
+        boolean divisible = level > 0 && (sampleBudget == 0 || samples.sum() < sampleBudget);
+        Color[] colors = new Color[4];
+        int k = 0;
+        for (int r = 0; r <= 1; ++r)
+            for (int c = 0; c <= 1; ++c) {
+                colors[k] = cornerColor(latticeNX, latticeNY, (j + r) << level, (i + c) << level, corners);
+                // Stop at the first corner which differs - the sub-pixels would trace the rest anyway
+                if (divisible && k > 0 && refinement.needsRefinement(colors[0], colors[k]))
+                    return null;
+                ++k;
+            }
+        // The corners are the same (or the pixel can't be divided) - take their average
+        MutableColor avg = new MutableColor();
+        for (Color color : colors)
+            avg.add(color);
+        return avg.reduce(colors.length).toColor();
+    }
+
+    /**
+     * Gets the color seen through a corner of the lattice - traces it only on the first request
+     * @param nX the amount of lattice columns
+     * @param nY the amount of lattice rows
+     * @param x the column of the corner
+     * @param y the row of the corner
+     * @param corners cache of the colors of the traced corners
+     * @return the color of the closest intersection of the ray through the corner (or the background)
+     */
+    private Color cornerColor(int nX, int nY, int x, int y, Map<Long, Color> corners) {
+        Long key = ((long) x << 32) | y;
+        Color color = corners.get(key);
+        if (color == null) {
+            Ray ray = scene.getCamera().constructRayThroughCorner(nX, nY, x, y, scene.getDistance(),
+                    writeImage.getWidth(), writeImage.getHeight());
+            countRay(RenderStatistics.RayType.PRIMARY);
+            color = calcColor(findClosestIntersection(ray), ray);
+            corners.put(key, color);
+            if (sampleBudget > 0)
+                samples.increment();
+        }
+        return color;
+    }
+
+    /**
+     * Adaptive super sampling as a fork/join task - the 4 sub-pixels of a divided pixel are forked,
+     * so the expensive pixels (silhouettes, shadow edges) are shared by all the workers of the pool
+     * instead of being stuck on the thread which took them.
+     * Gives exactly the same color as {@link Render#adaptiveSuperSampling(int, int, int, int, int, Map)}
+     */
+    @SuppressWarnings("serial") // captures the enclosing instance, never serialized
+    private class SuperSamplingTask extends RecursiveTask<Color> {
+        private final int nX, nY, j, i, level;
+        private final Map<Long, Color> corners;
+        long rays = 0; // rays traced for the (sub-)pixel, counted only for the cost map
+        long nanos = 0; // time spent on the (sub-)pixel itself, without joining, measured only for the cost map
+
+        /**
+         * Constructor - see the parameters of {@link Render#adaptiveSuperSampling(int, int, int, int, int, Map)}
+         */
+        SuperSamplingTask(int nX, int nY, int j, int i, int level, Map<Long, Color> corners) {
+            this.nX = nX;
+            this.nY = nY;
+            this.j = j;
+            this.i = i;
+            this.level = level;
+            this.corners = corners;
+        }
+
+        @Override
+        protected Color compute() {
+            ShadingContext context = costMap ? shadingContext.get() : null;
+            long before = costMap ? context.rays : 0;
+            long start = costMap ? System.nanoTime() : 0;
+            Color color = sampleCorners(nX, nY, j, i, level, corners);
+            if (costMap) {
+                rays = context.rays - before;
+                nanos = System.nanoTime() - start;
+            }
+            if (color != null)
+                return color;
+            if (counters != null) counters.countSubdivision();
+            RenderEvents.SuperSampling event = new RenderEvents.SuperSampling();
+            event.begin();
+            SuperSamplingTask[] subPixels = new SuperSamplingTask[4];
+            int k = 0;
+            for (int interJ = j * 2; interJ < j * 2 + 2; interJ++)
+                for (int interI = i * 2; interI < i * 2 + 2; interI++)
+                    subPixels[k++] = new SuperSamplingTask(nX * 2, nY * 2, interJ, interI, level - 1, corners);
+            invokeAll(subPixels);
+            // summing in the same order as the sequential recursion, for the same result
+            MutableColor ret = new MutableColor();
+            for (SuperSamplingTask subPixel : subPixels) {
+                ret.add(subPixel.join());
+                rays += subPixel.rays;
+                nanos += subPixel.nanos;
+            }
+            if (event.shouldCommit()) {
+                event.depth = maxSamplingLevel - level;
+                event.commit();
+            }
+            return ret.reduce(4).toColor();
+        }
     }
 
     /**
@@ -711,31 +1198,21 @@ public class Render {
      * @return closest geoPoint
      */
     private GeoPoint findClosestIntersection(Ray r) {
-        List<GeoPoint> intersectionsL = scene.getGeometries().findIntersections(r);
-        if (intersectionsL == null)
-            return null;
-        // Geometries.findIntersection is sorting the list by the intersections points location
-        return intersectionsL.get(0);
+        // Only the nearest point is needed - no need to gather and sort all the intersections
+        return scene.getGeometries().findClosestIntersection(r);
     }
 
     /**
-     * determine if all the rays' closets intersections has the same color
-     * @param rays List of rays from the view plane
-     * @return SAME- return this same color| NOT_SAME- returns null
+     * Counts a traced ray, if the statistics or the cost map are on
+     * @param type the kind of the ray
      */
-    private Color isColorSame(List<Ray> rays) {
-        GeoPoint closestPoint = findClosestIntersection(rays.get(0));
-        Color firstColor = calcColor(closestPoint, rays.get(0));
-        Color currColor;
-        boolean isAllSame = true;
-        for (int e = 1; e < rays.size(); ++e) {
-            closestPoint = findClosestIntersection(rays.get(e));
-            currColor = calcColor(closestPoint, rays.get(e));
-            if (!firstColor.equals(currColor))
-                isAllSame = false;
-        }
-        return isAllSame? firstColor : null;
+    private void countRay(RenderStatistics.RayType type) {
+        if (counters != null)
+            counters.countRay(type);
+        if (costMap)
+            shadingContext.get().rays++;
     }
+
     //endregion
 
     //endregion
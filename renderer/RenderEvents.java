@@ -0,0 +1,109 @@
+package renderer;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Java Flight Recorder events of the rendering - a recording of a render (for example with
+ * -XX:StartFlightRecording) shows the phases and the tiles of the rendering next to the GC and
+ * lock events of the JVM, without attaching a sampling profiler.
+ * The events of the shading (super sampling and soft shadows) are very frequent, so they are
+ * disabled by default and should be enabled in the recording settings when needed
+ */
+final class RenderEvents {
+    private RenderEvents() {}
+
+    /**
+     * Preparing the scene before the rendering - building the bounding volume hierarchy
+     */
+    @Name("renderer.ScenePreparation")
+    @Label("Scene Preparation")
+    @Category({"Renderer"})
+    static class ScenePreparation extends Event {
+        @Label("BVH Mode")
+        String bvhMode;
+
+        @Label("Shapes")
+        @Description("Amount of shapes in the hierarchy")
+        int shapes;
+
+        @Label("Nodes")
+        int nodes;
+    }
+
+    /**
+     * Rendering a tile of pixels
+     */
+    @Name("renderer.Tile")
+    @Label("Tile")
+    @Category({"Renderer"})
+    static class Tile extends Event {
+        @Label("Tile")
+        int tile;
+
+        @Label("Column")
+        @Description("Column of the top left pixel of the tile")
+        int column;
+
+        @Label("Row")
+        @Description("Row of the top left pixel of the tile")
+        int row;
+
+        @Label("Width")
+        int width;
+
+        @Label("Height")
+        int height;
+    }
+
+    /**
+     * Sampling a divided (sub-)pixel of the adaptive super sampling - including its sub-pixels
+     */
+    @Name("renderer.SuperSampling")
+    @Label("Super Sampling Subdivision")
+    @Category({"Renderer", "Shading"})
+    @Enabled(false)
+    static class SuperSampling extends Event {
+        @Label("Depth")
+        @Description("Depth of the divided pixel in the recursion - 0 for a whole pixel")
+        int depth;
+    }
+
+    /**
+     * Soft shadow of a point from a light with an area
+     */
+    @Name("renderer.SoftShadow")
+    @Label("Soft Shadow")
+    @Category({"Renderer", "Shading"})
+    @Enabled(false)
+    static class SoftShadow extends Event {
+        @Label("Samples")
+        @Description("Amount of sample points on the disk of the light in the final estimate")
+        int samples;
+
+        @Label("Probed")
+        @Description("The probes agreed - the estimate is of the probes only, the whole beam wasn't fired")
+        boolean probed;
+    }
+
+    /**
+     * Encoding the image and writing it into a file
+     */
+    @Name("renderer.ImageEncoding")
+    @Label("Image Encoding")
+    @Category({"Renderer"})
+    static class ImageEncoding extends Event {
+        @Label("Image")
+        String imageName;
+
+        @Label("Format")
+        String format;
+
+        @Label("Pixels")
+        int pixels;
+    }
+}
@@ -0,0 +1,130 @@
+package renderer;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Summary of a rendering - where the rays (and the time) went.
+ * Taken at the end of {@link Render#renderImage()} when the statistics are on
+ * (see {@link Render#setStatistics()})
+ */
+public class RenderStatistics {
+
+    /**
+     * The kinds of the traced rays
+     */
+    public enum RayType {
+        /**
+         * Rays from the camera through the pixels (or through the corners of the super sampling)
+         */
+        PRIMARY,
+        /**
+         * Rays from a point towards a light, for a hard shadow
+         */
+        SHADOW,
+        /**
+         * Rays from a point towards the disk of a light, for a soft shadow
+         */
+        SOFT_SHADOW,
+        /**
+         * Rays reflected by a surface
+         */
+        REFLECTED,
+        /**
+         * Rays refracted by a surface
+         */
+        REFRACTED
+    }
+
+    private final long[] rays;
+    private final Map<Class<?>, Long> intersectionTests;
+    private final long subdivisions;
+    private final long wallNanos;
+
+    /**
+     * Constructor
+     * @param rays amount of traced rays of every type (by the order of {@link RayType})
+     * @param intersectionTests amount of intersection tests of every type of shape
+     * @param subdivisions amount of pixels (and sub-pixels) divided by the adaptive super sampling
+     * @param wallNanos the rendering time in nanoseconds
+     */
+    RenderStatistics(long[] rays, Map<Class<?>, Long> intersectionTests, long subdivisions, long wallNanos) {
+        this.rays = rays;
+        this.intersectionTests = Collections.unmodifiableMap(intersectionTests);
+        this.subdivisions = subdivisions;
+        this.wallNanos = wallNanos;
+    }
+
+    //region Getters
+
+    /**
+     * @param type the kind of the rays
+     * @return amount of traced rays of the given type
+     */
+    public long getRays(RayType type) {
+        return rays[type.ordinal()];
+    }
+
+    /**
+     * @return amount of traced rays of all the types
+     */
+    public long getTotalRays() {
+        long total = 0;
+        for (long count : rays)
+            total += count;
+        return total;
+    }
+
+    /**
+     * @return amount of intersection tests of every type of shape (the types which were never tested are missing)
+     */
+    public Map<Class<?>, Long> getIntersectionTests() {
+        return intersectionTests;
+    }
+
+    /**
+     * @param type type of shape
+     * @return amount of intersection tests of the given type of shape
+     */
+    public long getIntersectionTests(Class<?> type) {
+        return intersectionTests.getOrDefault(type, 0L);
+    }
+
+    /**
+     * @return amount of pixels (and sub-pixels) divided by the adaptive super sampling
+     */
+    public long getSubdivisions() {
+        return subdivisions;
+    }
+
+    /**
+     * @return the rendering time in milliseconds (without building the hierarchy of the scene)
+     */
+    public long getWallMillis() {
+        return wallNanos / 1_000_000;
+    }
+
+    /**
+     * @return amount of traced rays per second of rendering
+     */
+    public double getRaysPerSecond() {
+        return wallNanos == 0 ? 0 : getTotalRays() * 1e9 / wallNanos;
+    }
+    //endregion
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("Rays: total=").append(getTotalRays());
+        for (RayType type : RayType.values())
+            sb.append(", ").append(type.name().toLowerCase()).append('=').append(rays[type.ordinal()]);
+        sb.append("\nIntersection tests:");
+        if (intersectionTests.isEmpty())
+            sb.append(" none");
+        for (Map.Entry<Class<?>, Long> entry : intersectionTests.entrySet())
+            sb.append(' ').append(entry.getKey().getSimpleName()).append('=').append(entry.getValue());
+        return sb.append("\nSubdivisions: ").append(subdivisions)
+                .append("\nTime: ").append(getWallMillis()).append("ms, ")
+                .append(String.format("%.0f", getRaysPerSecond())).append(" rays/s")
+                .toString();
+    }
+}
@@ -0,0 +1,65 @@
+package renderer;
+
+import geometries.Intersectable;
+import geometries.IntersectionCounter;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The running counters of a rendering. All the rendering threads count into the same object,
+ * so the counters are striped (LongAdder) - every thread increments its own cell, and the cells are
+ * summed only once, when the rendering is over and {@link StatisticsCollector#snapshot(long)} is taken
+ */
+class StatisticsCollector implements IntersectionCounter {
+    private final LongAdder[] rays = new LongAdder[RenderStatistics.RayType.values().length];
+    private final Map<Class<?>, LongAdder> intersectionTests = new ConcurrentHashMap<>();
+    private final LongAdder subdivisions = new LongAdder();
+
+    /**
+     * Constructor - all the counters start at zero
+     */
+    StatisticsCollector() {
+        for (int i = 0; i < rays.length; ++i)
+            rays[i] = new LongAdder();
+    }
+
+    /**
+     * Counts a traced ray
+     * @param type the kind of the ray
+     */
+    void countRay(RenderStatistics.RayType type) {
+        rays[type.ordinal()].increment();
+    }
+
+    /**
+     * Counts a pixel (or sub-pixel) divided by the adaptive super sampling
+     */
+    void countSubdivision() {
+        subdivisions.increment();
+    }
+
+    @Override
+    public void countTest(Intersectable shape) {
+        LongAdder counter = intersectionTests.get(shape.getClass());
+        if (counter == null) // only on the first test of the type
+            counter = intersectionTests.computeIfAbsent(shape.getClass(), type -> new LongAdder());
+        counter.increment();
+    }
+
+    /**
+     * Sums up the counters
+     * @param wallNanos the rendering time in nanoseconds
+     * @return the summary of the rendering
+     */
+    RenderStatistics snapshot(long wallNanos) {
+        long[] rayCounts = new long[rays.length];
+        for (int i = 0; i < rays.length; ++i)
+            rayCounts[i] = rays[i].sum();
+        Map<Class<?>, Long> tests = new TreeMap<>((a, b) -> a.getName().compareTo(b.getName()));
+        for (Map.Entry<Class<?>, LongAdder> entry : intersectionTests.entrySet())
+            tests.put(entry.getKey(), entry.getValue().sum());
+        return new RenderStatistics(rayCounts, tests, subdivisions.sum(), wallNanos);
+    }
+}
@@ -0,0 +1,509 @@
+package scene;
+
+import geometries.TriangleMesh;
+import primitives.Color;
+import primitives.Material;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Loader of Wavefront OBJ files (and their MTL material libraries) into a {@link TriangleMesh}.
+ * The file is memory-mapped in chunks which end on line borders, and the chunks are parsed in parallel
+ * straight into primitive arrays - no object is created for a vertex or a face.
+ * Every chunk is read twice: the first pass counts its vertices and finds the material libraries and
+ * its last material, so in the second pass every chunk knows where its vertices go in the shared array
+ * and which material is active at its beginning.
+ * Supported statements: v, f (a polygon is split into a fan of triangles, v/vt/vn references and negative
+ * indices are allowed), mtllib and usemtl. Texture coordinates, normals, groups and smoothing are ignored
+ */
+public class ObjLoader {
+    // The powers of ten which are exact doubles
+    private static final double[] POWERS_OF_TEN = IntStream.rangeClosed(0, 22)
+            .mapToDouble(e -> Double.parseDouble("1e" + e)).toArray();
+
+    private final Path file;
+    private int chunkSize = 16 << 20; // bytes of the file parsed by a single task
+    // The material of the faces before any usemtl (and of unknown materials)
+    private Color defaultEmission = new Color(java.awt.Color.GRAY);
+    private Material defaultMaterial = new Material(0.5, 0.5, 30);
+    private long lastBytes = 0, lastParseNanos = 0, lastNanos = 0; // size and durations of the last load
+
+    /**
+     * Constructor
+     * @param file the OBJ file
+     */
+    public ObjLoader(Path file) {
+        this.file = file;
+    }
+
+    //region Setters & Getters
+
+    /**
+     * Set the material of the faces which have no material in the file
+     * @param emission the emission of the faces
+     * @param material the material of the faces
+     * @return the loader itself
+     */
+    public ObjLoader setDefaultMaterial(Color emission, Material material) {
+        defaultEmission = emission;
+        defaultMaterial = material;
+        return this;
+    }
+
+    /**
+     * Set the size of the parts the file is split into for the parallel parsing
+     * @param bytes size of a part in bytes (a part is extended to the end of its last line)
+     * @return the loader itself
+     */
+    public ObjLoader setChunkSize(int bytes) {
+        if (bytes <= 0) throw new IllegalArgumentException("Chunk size must be positive");
+        chunkSize = bytes;
+        return this;
+    }
+
+    /**
+     * @return the duration of the last load in milliseconds (reading, parsing and building the mesh)
+     */
+    public long getLastLoadMillis() {
+        return lastNanos / 1_000_000;
+    }
+
+    /**
+     * @return the parsing throughput of the last load in MB (10^6 bytes of the OBJ file) per second -
+     * reading and parsing the file, without building the hierarchy of the mesh
+     */
+    public double getThroughput() {
+        return lastParseNanos == 0 ? 0 : lastBytes * 1e3 / lastParseNanos;
+    }
+    //endregion
+
+    /**
+     * Loads the file into a mesh. The material libraries are looked up next to the OBJ file,
+     * and a missing library is skipped (its faces get the default material)
+     * @return the mesh of all the faces in the file
+     * @throws IOException in case of a reading failure
+     * @throws IllegalArgumentException if the file is malformed or has no faces
+     */
+    public TriangleMesh load() throws IOException {
+        long start = System.nanoTime();
+        List<Chunk> chunks;
+        long size;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            size = channel.size();
+            chunks = split(channel, size);
+        }
+
+        // First pass - vertex counts, libraries and materials
+        chunks.parallelStream().forEach(Chunk::scan);
+        Set<String> libraries = new LinkedHashSet<>();
+        for (Chunk chunk : chunks)
+            libraries.addAll(chunk.libraries);
+        List<Color> emissions = new ArrayList<>(List.of(defaultEmission));
+        List<Material> materials = new ArrayList<>(List.of(defaultMaterial));
+        Map<String, Integer> palette = new HashMap<>();
+        for (String library : libraries)
+            loadLibrary(file.resolveSibling(library), palette, emissions, materials);
+
+        int vertexCount = 0, material = 0;
+        for (Chunk chunk : chunks) {
+            chunk.vertexBase = vertexCount;
+            chunk.startMaterial = material;
+            vertexCount += chunk.vertexCount;
+            if (chunk.lastMaterial != null)
+                material = palette.getOrDefault(chunk.lastMaterial, 0);
+        }
+
+        // Second pass - the vertices go straight into their place in the shared array
+        double[] vertices = new double[3 * vertexCount];
+        chunks.parallelStream().forEach(chunk -> chunk.parse(vertices, palette));
+
+        int faces = 0;
+        for (Chunk chunk : chunks)
+            faces += chunk.faceMaterials.size;
+        if (faces == 0)
+            throw new IllegalArgumentException("OBJ file " + file + " has no faces");
+        int[] indices = new int[3 * faces];
+        int[] faceMaterials = emissions.size() == 1 ? null : new int[faces];
+        int offset = 0;
+        for (Chunk chunk : chunks) {
+            System.arraycopy(chunk.indices.values, 0, indices, 3 * offset, chunk.indices.size);
+            if (faceMaterials != null)
+                System.arraycopy(chunk.faceMaterials.values, 0, faceMaterials, offset, chunk.faceMaterials.size);
+            offset += chunk.faceMaterials.size;
+        }
+        long parsed = System.nanoTime();
+
+        TriangleMesh mesh = new TriangleMesh(emissions.toArray(new Color[0]), materials.toArray(new Material[0]),
+                faceMaterials, vertices, indices);
+        lastBytes = size;
+        lastParseNanos = parsed - start;
+        lastNanos = System.nanoTime() - start;
+        return mesh;
+    }
+
+    /**
+     * Splits the file into chunks of about the chunk size, each ends after the end of a line
+     * @param channel the file
+     * @param size the size of the file
+     * @return the mapped chunks
+     * @throws IOException in case of a reading failure
+     */
+    private List<Chunk> split(FileChannel channel, long size) throws IOException {
+        List<Chunk> chunks = new ArrayList<>();
+        ByteBuffer probe = ByteBuffer.allocate(256);
+        long start = 0;
+        while (start < size) {
+            long end = Math.min(size, start + chunkSize);
+            // move the end forward, past the end of the current line
+            while (end < size) {
+                probe.clear();
+                int read = channel.read(probe, end);
+                if (read <= 0) {
+                    end = size;
+                    break;
+                }
+                int k = 0;
+                while (k < read && probe.get(k) != '\n')
+                    ++k;
+                end += k;
+                if (k < read) {
+                    ++end;
+                    break;
+                }
+            }
+            chunks.add(new Chunk(start, channel.map(FileChannel.MapMode.READ_ONLY, start, end - start)));
+            start = end;
+        }
+        return chunks;
+    }
+
+    /**
+     * Loads the materials of an MTL library into the palette.
+     * The material of this renderer is built of the MTL values as following:
+     * <ul>
+     * <li>emission - Kd + Ke (as 0..255 color)</li>
+     * <li>kD, kS - the average of the components of Kd, Ks</li>
+     * <li>nShininess - Ns</li>
+     * <li>kT - 1 - d (or Tr)</li>
+     * <li>kR - the average of the components of Ks, if the illumination model has reflections (illum 3 and up)</li>
+     * </ul>
+     * @param library the MTL file
+     * @param palette the palette entry of every material name, new materials are added into it
+     * @param emissions the emissions of the palette
+     * @param materials the materials of the palette
+     * @throws IOException in case of a reading failure
+     */
+    private static void loadLibrary(Path library, Map<String, Integer> palette, List<Color> emissions,
+                                    List<Material> materials) throws IOException {
+        if (!Files.isReadable(library))
+            return;
+        try (BufferedReader reader = Files.newBufferedReader(library, StandardCharsets.UTF_8)) {
+            MtlMaterial current = null;
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                String[] tokens = line.trim().split("\\s+");
+                switch (tokens[0]) {
+                    case "newmtl":
+                        if (current != null) current.addTo(palette, emissions, materials);
+                        current = new MtlMaterial(line.trim().substring(tokens[0].length()).trim());
+                        break;
+                    case "Kd": if (current != null) current.kd = rgb(tokens); break;
+                    case "Ks": if (current != null) current.ks = rgb(tokens); break;
+                    case "Ke": if (current != null) current.ke = rgb(tokens); break;
+                    case "Ns": if (current != null) current.ns = Double.parseDouble(tokens[1]); break;
+                    case "d": if (current != null) current.dissolve = Double.parseDouble(tokens[1]); break;
+                    case "Tr": if (current != null) current.dissolve = 1 - Double.parseDouble(tokens[1]); break;
+                    case "illum": if (current != null) current.illum = Integer.parseInt(tokens[1]); break;
+                    default: break;
+                }
+            }
+            if (current != null) current.addTo(palette, emissions, materials);
+        }
+    }
+
+    /**
+     * @param tokens a line of the form "key r g b"
+     * @return {r, g, b}
+     */
+    private static double[] rgb(String[] tokens) {
+        double r = Double.parseDouble(tokens[1]);
+        // a single value stands for a gray
+        return tokens.length < 4 ? new double[] {r, r, r}
+                : new double[] {r, Double.parseDouble(tokens[2]), Double.parseDouble(tokens[3])};
+    }
+
+    /**
+     * The values of a material in an MTL library
+     */
+    private static class MtlMaterial {
+        final String name;
+        double[] kd = {0, 0, 0}, ks = {0, 0, 0}, ke = {0, 0, 0};
+        double ns = 0, dissolve = 1;
+        int illum = 2;
+
+        MtlMaterial(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Converts the material and adds it into the palette (a repeated name replaces the former entry)
+         */
+        void addTo(Map<String, Integer> palette, List<Color> emissions, List<Material> materials) {
+            palette.put(name, emissions.size());
+            emissions.add(new Color(255 * (kd[0] + ke[0]), 255 * (kd[1] + ke[1]), 255 * (kd[2] + ke[2])));
+            double specular = (ks[0] + ks[1] + ks[2]) / 3;
+            materials.add(new Material((kd[0] + kd[1] + kd[2]) / 3, specular, (int) Math.round(ns),
+                    Math.max(0, 1 - dissolve), illum >= 3 ? specular : 0));
+        }
+    }
+
+    /**
+     * Growable array of ints
+     */
+    private static class IntList {
+        int[] values = new int[1024];
+        int size = 0;
+
+        void add(int value) {
+            if (size == values.length)
+                values = Arrays.copyOf(values, 2 * size);
+            values[size++] = value;
+        }
+    }
+
+    /**
+     * A part of the file, which ends at the end of a line, and the results of its parsing
+     */
+    private static class Chunk {
+        private final long offset;      // position of the chunk in the file
+        private final ByteBuffer buffer;
+        private final int limit;
+        private int pos = 0;            // the parsing position in the chunk
+
+        // First pass
+        int vertexCount = 0;
+        String lastMaterial = null;
+        final List<String> libraries = new ArrayList<>();
+        // Second pass
+        int vertexBase;    // amount of vertices in the former chunks
+        int startMaterial; // the palette entry of the active material at the beginning of the chunk
+        final IntList indices = new IntList();
+        final IntList faceMaterials = new IntList();
+
+        /**
+         * Constructor
+         * @param offset position of the chunk in the file
+         * @param buffer the mapped bytes of the chunk
+         */
+        Chunk(long offset, ByteBuffer buffer) {
+            this.offset = offset;
+            this.buffer = buffer;
+            this.limit = buffer.limit();
+        }
+
+        /**
+         * First pass - counts the vertices and finds the libraries and the last material of the chunk
+         */
+        void scan() {
+            for (pos = 0; pos < limit; nextLine()) {
+                if (isStatement("v"))
+                    ++vertexCount;
+                else if (isStatement("usemtl"))
+                    lastMaterial = restOfLine();
+                else if (isStatement("mtllib"))
+                    libraries.addAll(List.of(restOfLine().split("\\s+")));
+            }
+        }
+
+        /**
+         * Second pass - parses the vertices and the faces of the chunk
+         * @param vertices the shared array of the vertices of the whole file
+         * @param palette the palette entry of every material name
+         */
+        void parse(double[] vertices, Map<String, Integer> palette) {
+            int material = startMaterial;
+            int vertex = vertexBase; // global index of the next vertex
+            for (pos = 0; pos < limit; nextLine()) {
+                if (isStatement("v")) {
+                    vertices[3 * vertex] = parseDouble();
+                    vertices[3 * vertex + 1] = parseDouble();
+                    vertices[3 * vertex + 2] = parseDouble();
+                    ++vertex;
+                } else if (isStatement("f")) {
+                    // a fan of triangles around the first vertex
+                    int first = -1, previous = -1;
+                    while (skipSpaces()) {
+                        int index = parseInt();
+                        if (index == 0)
+                            throw malformed("vertex index 0");
+                        int current = index > 0 ? index - 1 : vertex + index;
+                        while (pos < limit && !isSpace(buffer.get(pos)) && !isLineEnd(buffer.get(pos)))
+                            ++pos; // texture and normal references
+                        if (first < 0)
+                            first = current;
+                        else if (previous < 0)
+                            previous = current;
+                        else {
+                            indices.add(first);
+                            indices.add(previous);
+                            indices.add(current);
+                            faceMaterials.add(material);
+                            previous = current;
+                        }
+                    }
+                } else if (isStatement("usemtl"))
+                    material = palette.getOrDefault(restOfLine(), 0);
+            }
+        }
+
+        //region Parsing functions
+
+        /**
+         * Checks whether the current line is a statement of the given keyword - if it is,
+         * the position moves after the keyword
+         * @param keyword the keyword
+         * @return true if the line starts with the keyword followed by a space
+         */
+        private boolean isStatement(String keyword) {
+            int length = keyword.length();
+            if (pos + length >= limit || !isSpace(buffer.get(pos + length)))
+                return false;
+            for (int k = 0; k < length; ++k)
+                if (buffer.get(pos + k) != keyword.charAt(k))
+                    return false;
+            pos += length;
+            return true;
+        }
+
+        /**
+         * Moves the position to the beginning of the next line
+         */
+        private void nextLine() {
+            while (pos < limit && buffer.get(pos) != '\n')
+                ++pos;
+            ++pos;
+        }
+
+        /**
+         * Skips the spaces before the next token of the line
+         * @return true if there is another token in the line
+         */
+        private boolean skipSpaces() {
+            while (pos < limit && isSpace(buffer.get(pos)))
+                ++pos;
+            return pos < limit && !isLineEnd(buffer.get(pos));
+        }
+
+        /**
+         * @return the rest of the current line without the surrounding spaces
+         */
+        private String restOfLine() {
+            skipSpaces();
+            int begin = pos, end = pos;
+            while (end < limit && !isLineEnd(buffer.get(end)))
+                ++end;
+            while (end > begin && isSpace(buffer.get(end - 1)))
+                --end;
+            byte[] bytes = new byte[end - begin];
+            buffer.get(begin, bytes);
+            pos = end;
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * @return the next integer in the line
+         */
+        private int parseInt() {
+            skipSpaces();
+            boolean negative = pos < limit && buffer.get(pos) == '-';
+            if (negative || (pos < limit && buffer.get(pos) == '+'))
+                ++pos;
+            int begin = pos, value = 0;
+            for (byte b; pos < limit && (b = buffer.get(pos)) >= '0' && b <= '9'; ++pos)
+                value = 10 * value + (b - '0');
+            if (pos == begin)
+                throw malformed("integer");
+            return negative ? -value : value;
+        }
+
+        /**
+         * Parses the next number in the line. Numbers of up to 15 significant digits with a small exponent
+         * (almost all the numbers in OBJ files) are converted exactly with a single multiplication or
+         * division - the rest are handed to {@link Double#parseDouble(String)}
+         * @return the next number in the line
+         */
+        private double parseDouble() {
+            skipSpaces();
+            int begin = pos;
+            boolean negative = pos < limit && buffer.get(pos) == '-';
+            if (negative || (pos < limit && buffer.get(pos) == '+'))
+                ++pos;
+            long mantissa = 0;
+            int digits = 0, exponent = 0;
+            boolean any = false, dot = false;
+            for (; pos < limit; ++pos) {
+                byte b = buffer.get(pos);
+                if (b == '.' && !dot) {
+                    dot = true;
+                    continue;
+                }
+                if (b < '0' || b > '9')
+                    break;
+                any = true;
+                if (digits < 18) {
+                    mantissa = 10 * mantissa + (b - '0');
+                    if (mantissa > 0) ++digits;
+                    if (dot) --exponent;
+                } else if (!dot)
+                    ++exponent;
+            }
+            if (!any)
+                throw malformed("number");
+            if (pos < limit && (buffer.get(pos) == 'e' || buffer.get(pos) == 'E')) {
+                ++pos;
+                exponent += parseInt();
+            }
+            double value;
+            if (digits <= 15 && exponent >= -22 && exponent <= 22)
+                value = exponent >= 0 ? mantissa * POWERS_OF_TEN[exponent] : mantissa / POWERS_OF_TEN[-exponent];
+            else {
+                byte[] bytes = new byte[pos - begin];
+                buffer.get(begin, bytes);
+                return Double.parseDouble(new String(bytes, StandardCharsets.US_ASCII));
+            }
+            return negative ? -value : value;
+        }
+
+        /**
+         * @param expected what was expected in the current position
+         * @return exception which tells where the file is malformed
+         */
+        private IllegalArgumentException malformed(String expected) {
+            return new IllegalArgumentException("Malformed OBJ file - expected " + expected + " at byte "
+                    + (offset + pos));
+        }
+
+        private static boolean isSpace(byte b) {
+            return b == ' ' || b == '\t';
+        }
+
+        private static boolean isLineEnd(byte b) {
+            return b == '\n' || b == '\r' || b == '#';
+        }
+        //endregion
+    }
+}